@@ -27,19 +27,25 @@ CREATE TABLE events (
     event_time TIME NOT NULL,
     venue VARCHAR(255) NOT NULL,
     capacity INTEGER NOT NULL,
+    registered_count INTEGER NOT NULL DEFAULT 0, -- Seats taken (active registrations)
     organizer_name VARCHAR(100),
     organizer_email VARCHAR(255),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- ID blocks handed out to the application (lets Hibernate batch inserts)
+CREATE TABLE id_generators (
+    gen_name VARCHAR(255) PRIMARY KEY,
+    gen_value BIGINT
+);
+
 -- Event registrations table
 CREATE TABLE registrations (
-    registration_id SERIAL PRIMARY KEY,
+    registration_id BIGINT PRIMARY KEY,
     student_id VARCHAR(20) NOT NULL,
     event_id VARCHAR(20) NOT NULL,
     registration_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    qr_code VARCHAR(500) NOT NULL UNIQUE, -- Base64 encoded QR code data
     qr_token VARCHAR(100) NOT NULL UNIQUE, -- Unique token for QR scanning
     status VARCHAR(20) DEFAULT 'REGISTERED', -- REGISTERED, CANCELLED
     FOREIGN KEY (student_id) REFERENCES students(student_id),
@@ -49,7 +55,7 @@ CREATE TABLE registrations (
 
 -- Attendance table
 CREATE TABLE attendance (
-    attendance_id SERIAL PRIMARY KEY,
+    attendance_id BIGINT PRIMARY KEY,
     registration_id INTEGER NOT NULL,
     student_id VARCHAR(20) NOT NULL,
     event_id VARCHAR(20) NOT NULL,
@@ -64,7 +70,7 @@ CREATE TABLE attendance (
 
 -- Feedback table
 CREATE TABLE feedback (
-    feedback_id SERIAL PRIMARY KEY,
+    feedback_id BIGINT PRIMARY KEY,
     registration_id INTEGER NOT NULL,
     student_id VARCHAR(20) NOT NULL,
     event_id VARCHAR(20) NOT NULL,
@@ -77,6 +83,18 @@ CREATE TABLE feedback (
     UNIQUE(registration_id) -- One feedback per registration
 );
 
+-- Per-event rollup maintained on every check-in and feedback write (active registrations are
+-- events.registered_count); rebuilt from the tables above when the application starts
+CREATE TABLE event_stats (
+    event_id VARCHAR(20) PRIMARY KEY,
+    attendance BIGINT NOT NULL DEFAULT 0, -- Check-ins of active registrations
+    qr_check_ins BIGINT NOT NULL DEFAULT 0,
+    manual_check_ins BIGINT NOT NULL DEFAULT 0,
+    feedback_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (event_id) REFERENCES events(event_id) ON DELETE CASCADE
+);
+
 -- Create indexes for better performance
 CREATE INDEX idx_students_course_year ON students(course, year_of_joining);
 CREATE INDEX idx_events_date_type ON events(event_date, event_type);
@@ -103,21 +121,29 @@ INSERT INTO events (event_id, event_name, description, event_type, event_date, e
 ('WKUe220925', 'Web Development Bootcamp', '3-day intensive bootcamp covering modern web development technologies', 'Workshop', '2025-09-22', '09:00:00', 'Computer Lab 2', 30, 'Mr. Karthik Rao', 'karthik.rao@wku.edu'),
 ('WKUe250925', 'Innovation Summit', 'Showcase of student innovations and startup ideas', 'Fest', '2025-09-25', '11:00:00', 'Innovation Center', 150, 'Dr. Meera Jain', 'meera.jain@wku.edu');
 
--- Sample registrations (with placeholder QR codes - will be generated by backend)
-INSERT INTO registrations (student_id, event_id, qr_code, qr_token, status) VALUES
-('1WKU21CS001', 'WKUe120925', 'qr_placeholder_1', 'WKUe120925_1WKU21CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
-('1WKU21CS002', 'WKUe120925', 'qr_placeholder_2', 'WKUe120925_1WKU21CS002_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
-('1WKU21IT001', 'WKUe150925', 'qr_placeholder_3', 'WKUe150925_1WKU21IT001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
-('1WKU22CS001', 'WKUe150925', 'qr_placeholder_4', 'WKUe150925_1WKU22CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
-('1WKU21CS001', 'WKUe150925', 'qr_placeholder_5', 'WKUe150925_1WKU21CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
-('1WKU20CS001', 'WKUe180925', 'qr_placeholder_6', 'WKUe180925_1WKU20CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED');
+-- Sample registrations (QR images are rendered on demand from qr_token)
+INSERT INTO registrations (registration_id, student_id, event_id, qr_token, status) VALUES
+(1, '1WKU21CS001', 'WKUe120925', 'WKUe120925_1WKU21CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
+(2, '1WKU21CS002', 'WKUe120925', 'WKUe120925_1WKU21CS002_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
+(3, '1WKU21IT001', 'WKUe150925', 'WKUe150925_1WKU21IT001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
+(4, '1WKU22CS001', 'WKUe150925', 'WKUe150925_1WKU22CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
+(5, '1WKU21CS001', 'WKUe150925', 'WKUe150925_1WKU21CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED'),
+(6, '1WKU20CS001', 'WKUe180925', 'WKUe180925_1WKU20CS001_' || EXTRACT(EPOCH FROM NOW()), 'REGISTERED');
+
+-- Application-assigned registration, attendance and feedback IDs start above the sample rows
+INSERT INTO id_generators (gen_name, gen_value) VALUES ('registrations', 100), ('attendance', 100), ('feedback', 100);
+
+-- Keep seat counters in step with the sample registrations
+UPDATE events SET registered_count = (
+    SELECT COUNT(*) FROM registrations r WHERE r.event_id = events.event_id AND r.status = 'REGISTERED'
+);
 
 -- Sample attendance (some students attended)
-INSERT INTO attendance (registration_id, student_id, event_id, check_in_method, scanned_by) VALUES
-(1, '1WKU21CS001', 'WKUe120925', 'QR_SCAN', 'admin@wku.edu'),
-(2, '1WKU21CS002', 'WKUe120925', 'QR_SCAN', 'admin@wku.edu');
+INSERT INTO attendance (attendance_id, registration_id, student_id, event_id, check_in_method, scanned_by) VALUES
+(1, 1, '1WKU21CS001', 'WKUe120925', 'QR_SCAN', 'admin@wku.edu'),
+(2, 2, '1WKU21CS002', 'WKUe120925', 'QR_SCAN', 'admin@wku.edu');
 
 -- Sample feedback
-INSERT INTO feedback (registration_id, student_id, event_id, rating, comments) VALUES
-(1, '1WKU21CS001', 'WKUe120925', 5, 'Excellent workshop! Very informative and hands-on.'),
-(2, '1WKU21CS002', 'WKUe120925', 4, 'Good content, but could use more practical examples.');
+INSERT INTO feedback (feedback_id, registration_id, student_id, event_id, rating, comments) VALUES
+(1, 1, '1WKU21CS001', 'WKUe120925', 5, 'Excellent workshop! Very informative and hands-on.'),
+(2, 2, '1WKU21CS002', 'WKUe120925', 4, 'Good content, but could use more practical examples.');
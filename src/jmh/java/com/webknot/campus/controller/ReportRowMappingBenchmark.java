@@ -0,0 +1,89 @@
+package com.webknot.campus.controller;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.webknot.campus.repository.EventRepository;
+import com.webknot.campus.repository.RegistrationRepository;
+import com.webknot.campus.service.ReportCacheService;
+
+/**
+ * Object[]-to-HashMap row mapping in ReportsController, with the repositories stubbed
+ * to return fixed rows so only the mapping is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportRowMappingBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private ReportsController controller;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Object[]> eventRows = new ArrayList<>(rows);
+        List<Object[]> studentRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            eventRows.add(new Object[] {"WKUe1509251000" + i, "Event " + i, (long) (i % 200)});
+            studentRows.add(new Object[] {"1WKU21CS" + i, "First" + i, "Last" + i, (long) (i % 10 + 1), (long) (i % 7)});
+        }
+
+        controller = new ReportsController();
+        setField(controller, "eventRepository",
+            stub(EventRepository.class, "getEventRegistrationCounts", eventRows));
+        setField(controller, "registrationRepository",
+            stub(RegistrationRepository.class, "getStudentParticipationReport", studentRows));
+
+        // Measure the mapping itself, not cache hits
+        ReportCacheService reportCache = new ReportCacheService();
+        setField(reportCache, "enabled", false);
+        setField(controller, "reportCache", reportCache);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> eventPopularity() {
+        return controller.getEventPopularityReport();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> studentParticipation() {
+        return controller.getStudentParticipationReport();
+    }
+
+    private static <T> T stub(Class<T> repository, String method, List<Object[]> result) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] {repository},
+            (proxy, invoked, args) -> {
+                if (invoked.getName().equals(method)) {
+                    return result;
+                }
+                throw new UnsupportedOperationException(invoked.getName());
+            }));
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,46 @@
+package com.webknot.campus.entity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Event and Student ID generation, driven through the same entry points JPA uses
+ * (Event.onCreate, the Student constructor). Figures include constructing the entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    private final LocalDate eventDate = LocalDate.of(2025, 9, 15);
+    private final LocalTime eventTime = LocalTime.of(10, 0);
+
+    @Benchmark
+    public String generateEventId() {
+        Event event = new Event();
+        event.setEventDate(eventDate);
+        event.setEventTime(eventTime);
+        event.onCreate();
+        return event.getEventId();
+    }
+
+    @Benchmark
+    public String generateStudentId() {
+        Student student = new Student("Asha", "Rao", "asha.rao@wku.edu", "9876543210", "cs", 2021, 1);
+        return student.getStudentId();
+    }
+}
@@ -0,0 +1,64 @@
+package com.webknot.campus.service;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * QRCodeService.generateQRCode with a cold cache (every call encodes) and a warm cache (every call hits)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodeBenchmark {
+
+    private static final String TOKEN = "WKUe150925100012345_1WKU21CS001_1694444400";
+
+    private QRCodeService uncached;
+    private QRCodeService cached;
+
+    @Setup
+    public void setUp() throws Exception {
+        // A zero-byte budget means nothing is ever stored, so every call renders
+        uncached = newService(0);
+        cached = newService(32L * 1024 * 1024);
+        cached.generateQRCode(TOKEN);
+    }
+
+    @Benchmark
+    public String generateQRCodeUncached() {
+        return uncached.generateQRCode(TOKEN);
+    }
+
+    @Benchmark
+    public String generateQRCodeCached() {
+        return cached.generateQRCode(TOKEN);
+    }
+
+    private static QRCodeService newService(long cacheMaxBytes) throws Exception {
+        QRCodeService service = new QRCodeService();
+        setField(service, "qrBaseUrl", "https://campus-event-qr.vercel.app/checkin/");
+        setField(service, "cacheMaxBytes", cacheMaxBytes);
+        service.initCache();
+        return service;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
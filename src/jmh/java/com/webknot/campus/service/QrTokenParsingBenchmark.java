@@ -0,0 +1,49 @@
+package com.webknot.campus.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * QR token validation and field extraction, for a valid token and a malformed one
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrTokenParsingBenchmark {
+
+    @Param({"WKUe150925100012345_1WKU21CS001_1694444400", "WKUe150925100012345_1WKU21CS001_16944x4400"})
+    public String token;
+
+    private final QRCodeService qrCodeService = new QRCodeService();
+
+    @Benchmark
+    public QrTokenParseResult parseQrToken() {
+        return qrCodeService.parseQrToken(token);
+    }
+
+    @Benchmark
+    public boolean isValidQRToken() {
+        return qrCodeService.isValidQRToken(token);
+    }
+
+    @Benchmark
+    public void extractors(Blackhole blackhole) {
+        blackhole.consume(qrCodeService.getEventIdFromToken(token));
+        blackhole.consume(qrCodeService.getStudentIdFromToken(token));
+        blackhole.consume(qrCodeService.getTimestampFromToken(token));
+    }
+}
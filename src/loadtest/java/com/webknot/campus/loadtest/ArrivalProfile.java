@@ -0,0 +1,87 @@
+package com.webknot.campus.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open-model arrival curve: a list of stages, each sending requests at a fixed rate for a number of seconds.
+ * Written as "rate:seconds,rate:seconds,...", e.g. "50:10,100:10,200:10" steps from 50 to 200 requests/s.
+ */
+public class ArrivalProfile {
+
+    public record Stage(int ratePerSecond, int seconds) {
+
+        public int requests() {
+            return ratePerSecond * seconds;
+        }
+
+        @Override
+        public String toString() {
+            return ratePerSecond + "/s x " + seconds + "s";
+        }
+    }
+
+    private final List<Stage> stages;
+
+    private ArrivalProfile(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static ArrivalProfile parse(String spec) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] rateAndSeconds = part.trim().split(":");
+            if (rateAndSeconds.length != 2) {
+                throw new IllegalArgumentException("Stage must be rate:seconds, got '" + part + "'");
+            }
+            int rate = Integer.parseInt(rateAndSeconds[0].trim());
+            int seconds = Integer.parseInt(rateAndSeconds[1].trim());
+            if (rate <= 0 || seconds <= 0) {
+                throw new IllegalArgumentException("Rate and seconds must be positive, got '" + part + "'");
+            }
+            stages.add(new Stage(rate, seconds));
+        }
+        return new ArrivalProfile(stages);
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public int totalRequests() {
+        return stages.stream().mapToInt(Stage::requests).sum();
+    }
+
+    /**
+     * Intended send time of every request, in nanoseconds from the start of the run
+     * @return Offsets in send order
+     */
+    public long[] sendOffsetsNanos() {
+        long[] offsets = new long[totalRequests()];
+        int index = 0;
+        long stageStart = 0;
+        for (Stage stage : stages) {
+            long interval = 1_000_000_000L / stage.ratePerSecond();
+            for (int i = 0; i < stage.requests(); i++) {
+                offsets[index++] = stageStart + i * interval;
+            }
+            stageStart += stage.seconds() * 1_000_000_000L;
+        }
+        return offsets;
+    }
+
+    /**
+     * Stage each request belongs to
+     * @return Stage index per request, in send order
+     */
+    public int[] stageOfRequests() {
+        int[] stageOf = new int[totalRequests()];
+        int index = 0;
+        for (int s = 0; s < stages.size(); s++) {
+            for (int i = 0; i < stages.get(s).requests(); i++) {
+                stageOf[index++] = s;
+            }
+        }
+        return stageOf;
+    }
+}
@@ -0,0 +1,282 @@
+package com.webknot.campus.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webknot.campus.CampusEventManagementApplication;
+import com.webknot.campus.entity.Event;
+import com.webknot.campus.entity.Student;
+import com.webknot.campus.repository.EventRepository;
+import com.webknot.campus.repository.StudentRepository;
+
+/**
+ * Event-gate check-in load generator.
+ *
+ * Boots the application on a throwaway database, seeds one event with N registrations, then sends
+ * POST /api/attendance/qr-scan and /manual requests on an open-model arrival curve (requests are sent
+ * on schedule whether or not earlier ones have finished, and latency is measured from the scheduled
+ * send time, so queueing at the gate shows up in the numbers).
+ *
+ * Run from the build with: mvn -Ploadtest -DskipTests verify
+ * Compare request threading models with: mvn -Pjava21,loadtest -Dloadtest.threads=both -DskipTests verify
+ *
+ * System properties:
+ *   loadtest.database       sqlite (default) or h2
+ *   loadtest.registrations  tickets to seed (default 5000); tickets are reused once exhausted and the
+ *                           repeat scans are expected to be rejected
+ *   loadtest.profile        arrival curve as rate:seconds,... (default 25:10,50:10,100:10,200:10)
+ *   loadtest.manual-ratio   share of requests sent to /manual instead of /qr-scan (default 0.1)
+ *   loadtest.threads        platform (default), virtual or both; virtual starts the app with the
+ *                           virtual-threads profile and needs a Java 21 build (-Pjava21); both runs the
+ *                           same profile once per mode against a fresh database
+ *   loadtest.report         report file (default target/loadtest-report.txt)
+ */
+public class CheckInLoadTest {
+
+    private static final int BULK_CHUNK = 1000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Ticket(String qrToken, String studentId, String eventId) {}
+
+    public static void main(String[] args) throws Exception {
+        String database = System.getProperty("loadtest.database", "sqlite");
+        int registrations = Integer.getInteger("loadtest.registrations", 5000);
+        ArrivalProfile profile = ArrivalProfile.parse(System.getProperty("loadtest.profile", "25:10,50:10,100:10,200:10"));
+        double manualRatio = Double.parseDouble(System.getProperty("loadtest.manual-ratio", "0.1"));
+        String threads = System.getProperty("loadtest.threads", "platform");
+        Path reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.txt"));
+
+        List<String> modes = switch (threads) {
+            case "platform", "virtual" -> List.of(threads);
+            case "both" -> List.of("platform", "virtual");
+            default -> throw new IllegalArgumentException("loadtest.threads must be platform, virtual or both: " + threads);
+        };
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("loadtest.threads=" + threads + " needs Java 21, running on "
+                + Runtime.version() + " (build with -Pjava21)");
+        }
+
+        List<String> report = new ArrayList<>();
+        for (String mode : modes) {
+            // Each mode gets a fresh application and database so the runs are comparable
+            ConfigurableApplicationContext context = startApplication(database, "virtual".equals(mode));
+            try {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+                System.out.println("[" + mode + " threads] Seeding " + registrations + " registrations...");
+                List<Ticket> tickets = seed(context, client, baseUrl, registrations);
+                Collections.shuffle(tickets);
+
+                System.out.println("[" + mode + " threads] Running " + profile.totalRequests() + " requests: "
+                    + profile.getStages());
+                List<String> lines = run(client, baseUrl, tickets, profile, manualRatio);
+
+                lines.add(0, "Check-in load test: threads=" + mode + ", database=" + database
+                    + ", registrations=" + tickets.size() + ", manual-ratio=" + manualRatio
+                    + ", profile=" + profile.getStages());
+                lines.forEach(System.out::println);
+                if (!report.isEmpty()) {
+                    report.add("");
+                }
+                report.addAll(lines);
+            } finally {
+                context.close();
+            }
+        }
+
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.write(reportFile, report);
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext startApplication(String database, boolean virtualThreads)
+            throws IOException {
+        // Devtools reads this before the environment exists, so it has to be a system property
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> properties = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.hibernate.ddl-auto=create",
+            "--logging.level.root=WARN"));
+
+        if (virtualThreads) {
+            properties.add("--spring.profiles.active=dev,virtual-threads");
+        }
+
+        if ("h2".equals(database)) {
+            properties.add("--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            properties.add("--spring.datasource.driver-class-name=org.h2.Driver");
+            properties.add("--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+            // H2 creates the unique keys itself; sqlite-indexes.sql is only needed on SQLite
+            properties.add("--spring.sql.init.mode=never");
+        } else {
+            Path file = Path.of("target", "loadtest.db");
+            Files.createDirectories(file.getParent());
+            for (String suffix : new String[] {"", "-wal", "-shm", "-journal"}) {
+                Files.deleteIfExists(Path.of(file + suffix));
+            }
+            properties.add("--spring.datasource.url=jdbc:sqlite:" + file);
+        }
+
+        return SpringApplication.run(CampusEventManagementApplication.class, properties.toArray(String[]::new));
+    }
+
+    private static List<Ticket> seed(ConfigurableApplicationContext context, HttpClient client, String baseUrl,
+                                     int registrations) throws Exception {
+        Event event = new Event("Load Test Fest", "Gate check-in load test", "Fest",
+            LocalDate.now().plusDays(1), LocalTime.of(10, 0), "Main Gate", 1000,
+            "Load Test", "loadtest@wku.edu");
+        event = context.getBean(EventRepository.class).save(event);
+        // Entity validation caps capacity at 1000; the harness needs a bigger gate
+        String eventId = event.getEventId();
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+            context.getBean(JdbcTemplate.class)
+                .update("UPDATE events SET capacity = ? WHERE event_id = ?", registrations, eventId));
+
+        List<Student> students = new ArrayList<>(registrations);
+        for (int i = 1; i <= registrations; i++) {
+            students.add(new Student("Load", "Student" + i, "loadtest" + i + "@wku.edu", "9000000000",
+                "LT", 2024, i));
+        }
+        context.getBean(StudentRepository.class).saveAll(students);
+
+        // Register through the bulk endpoint so the app's own caches and indexes are populated
+        List<Ticket> tickets = new ArrayList<>(registrations);
+        for (int from = 0; from < registrations; from += BULK_CHUNK) {
+            List<Map<String, String>> items = new ArrayList<>();
+            for (Student student : students.subList(from, Math.min(from + BULK_CHUNK, registrations))) {
+                items.add(Map.of("studentId", student.getStudentId(), "eventId", event.getEventId()));
+            }
+            HttpResponse<String> response = post(client, baseUrl + "/api/registrations/bulk",
+                MAPPER.writeValueAsString(Map.of("registrations", items)));
+            for (JsonNode result : MAPPER.readTree(response.body())) {
+                if ("REGISTERED".equals(result.path("status").asText())) {
+                    tickets.add(new Ticket(result.get("qrToken").asText(),
+                        result.get("studentId").asText(), result.get("eventId").asText()));
+                }
+            }
+        }
+        if (tickets.isEmpty()) {
+            throw new IllegalStateException("Seeding produced no registrations");
+        }
+        return tickets;
+    }
+
+    private static List<String> run(HttpClient client, String baseUrl, List<Ticket> tickets,
+                                    ArrivalProfile profile, double manualRatio) {
+        long[] offsets = profile.sendOffsetsNanos();
+        int total = offsets.length;
+
+        boolean[] manual = new boolean[total];
+        boolean[] expectRejection = new boolean[total];
+        long[] latencies = new long[total];
+        AtomicIntegerArray failed = new AtomicIntegerArray(total);
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intended = start + offsets[i];
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Ticket ticket = tickets.get(i % tickets.size());
+            manual[i] = (i * 7919L % 1000) < manualRatio * 1000; // deterministic spread across the run
+            expectRejection[i] = i >= tickets.size(); // ticket already used earlier in the run
+
+            String url = baseUrl + (manual[i] ? "/api/attendance/manual" : "/api/attendance/qr-scan");
+            String body = manual[i]
+                ? "{\"studentId\":\"" + ticket.studentId() + "\",\"eventId\":\"" + ticket.eventId() + "\",\"scannedBy\":\"loadtest\"}"
+                : "{\"qrToken\":\"" + ticket.qrToken() + "\",\"scannedBy\":\"gate-1\"}";
+
+            int index = i;
+            inFlight.add(client.sendAsync(jsonPost(url, body), HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies[index] = System.nanoTime() - intended;
+                    boolean expected = error == null
+                        && (expectRejection[index] ? response.statusCode() == 400 : response.statusCode() == 200);
+                    if (!expected) {
+                        failed.set(index, 1);
+                    }
+                    return null;
+                }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "throughput: %.1f req/s (%d requests in %.1f s)",
+            total / elapsedSeconds, total, elapsedSeconds));
+        lines.add(LatencyReport.header());
+        lines.add(report("all", latencies, failed, index -> true).toString());
+        lines.add(report("qr-scan", latencies, failed, index -> !manual[index]).toString());
+        lines.add(report("manual", latencies, failed, index -> manual[index]).toString());
+
+        int[] stageOf = profile.stageOfRequests();
+        for (int s = 0; s < profile.getStages().size(); s++) {
+            int stage = s;
+            lines.add(report("stage " + profile.getStages().get(s), latencies, failed,
+                index -> stageOf[index] == stage).toString());
+        }
+        return lines;
+    }
+
+    private static LatencyReport report(String label, long[] latencies, AtomicIntegerArray failed,
+                                        IntPredicate include) {
+        long[] selected = new long[latencies.length];
+        int count = 0;
+        int errors = 0;
+        for (int i = 0; i < latencies.length; i++) {
+            if (include.test(i)) {
+                selected[count++] = latencies[i];
+                errors += failed.get(i);
+            }
+        }
+        return new LatencyReport(label, Arrays.copyOf(selected, count), errors);
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String body) throws Exception {
+        HttpResponse<String> response = client.send(jsonPost(url, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static HttpRequest jsonPost(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.webknot.campus.loadtest;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latency percentiles and error rate for one group of requests
+ */
+public class LatencyReport {
+
+    private final String label;
+    private final long[] latenciesNanos;
+    private final int errors;
+
+    public LatencyReport(String label, long[] latenciesNanos, int errors) {
+        this.label = label;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+    }
+
+    public static String header() {
+        return String.format(Locale.ROOT, "%-28s %8s %8s %8s %10s %10s %10s %10s",
+            "group", "requests", "errors", "error%", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    }
+
+    public int getRequests() {
+        return latenciesNanos.length;
+    }
+
+    public double errorRate() {
+        return latenciesNanos.length == 0 ? 0.0 : errors * 100.0 / latenciesNanos.length;
+    }
+
+    public double percentileMillis(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0.0;
+        }
+        // Nearest-rank percentile
+        int rank = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length);
+        return latenciesNanos[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+
+    public double maxMillis() {
+        return latenciesNanos.length == 0 ? 0.0 : latenciesNanos[latenciesNanos.length - 1] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-28s %8d %8d %8.2f %10.2f %10.2f %10.2f %10.2f",
+            label, getRequests(), errors, errorRate(),
+            percentileMillis(50), percentileMillis(95), percentileMillis(99), maxMillis());
+    }
+}
@@ -0,0 +1,85 @@
+package com.webknot.campus.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Caps concurrent JDBC access at the connection pool size (enabled by the virtual-threads profile)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.concurrency-limit.enabled", havingValue = "true")
+public class DatabaseConcurrencyConfig {
+
+    /**
+     * Wraps the application DataSource in a ConcurrencyLimitedDataSource. Permits default to the Hikari
+     * maximum pool size (summed over the pools behind a routing DataSource) so no pool has a queue.
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the application DataSource; pools behind a routing DataSource (sqlite-wal) stay as they are
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                Integer permits = environment.getProperty("app.db.concurrency-limit.permits", Integer.class);
+                if (permits == null) {
+                    permits = poolSize(dataSource);
+                }
+                Duration acquireTimeout = environment.getProperty("app.db.concurrency-limit.acquire-timeout",
+                    Duration.class, Duration.ofSeconds(30));
+                System.out.println("Limiting " + beanName + " to " + permits + " concurrent connections");
+                return new ConcurrencyLimitedDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof AbstractRoutingDataSource router) {
+            return router.getResolvedDataSources().values().stream()
+                .mapToInt(DatabaseConcurrencyConfig::poolSize).sum();
+        }
+        if (dataSource instanceof HikariDataSource hikari) {
+            // Hikari leaves maximumPoolSize at -1 until the pool starts, then defaults it to 10
+            return hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+        }
+        throw new IllegalStateException("Cannot size the database concurrency limit from a "
+            + dataSource.getClass().getName() + "; set app.db.concurrency-limit.permits");
+    }
+
+    /**
+     * Threads waiting for a database permit and permits left
+     */
+    @Bean
+    public MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited;
+            try {
+                limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (Exception e) {
+                return;
+            }
+            Gauge.builder("db.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getWaitingThreads)
+                .register(registry);
+            Gauge.builder("db.concurrency.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                .register(registry);
+            Gauge.builder("db.concurrency.limit", limited, ConcurrencyLimitedDataSource::getLimit)
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.webknot.campus.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stands in for replication when trying the read replica locally with two SQLite files (replica-local profile).
+ *
+ * Every sync-interval it stamps replica_sync on the primary, copies the primary to a new file with
+ * VACUUM INTO and moves it over the replica file; the replica pool then reopens its connections on the
+ * copy. The replica is therefore up to sync-interval behind, and the lag query reads that from replica_sync.
+ */
+@Component
+@Profile("replica-local")
+public class LocalReplicaSync {
+
+    private static final String SQLITE_URL_PREFIX = "jdbc:sqlite:";
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Value("${app.datasource.replica.local-sync-interval:10s}")
+    private Duration syncInterval;
+
+    private ScheduledExecutorService scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sync, 0, syncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies the primary over the replica file
+     */
+    public void sync() {
+        Path replicaFile = Paths.get(replica.getJdbcUrl().substring(SQLITE_URL_PREFIX.length()));
+        Path copy = replicaFile.resolveSibling(replicaFile.getFileName() + ".sync");
+        try {
+            Files.deleteIfExists(copy);
+            try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+                // VACUUM cannot run inside a transaction; the pool restores auto-commit on return
+                connection.setAutoCommit(true);
+                statement.execute("CREATE TABLE IF NOT EXISTS replica_sync (id INTEGER PRIMARY KEY, synced_at INTEGER NOT NULL)");
+                statement.execute("INSERT OR REPLACE INTO replica_sync (id, synced_at) VALUES (1, strftime('%s', 'now'))");
+                statement.execute("VACUUM INTO '" + copy.toAbsolutePath().toString().replace("'", "''") + "'");
+            }
+            Files.move(copy, replicaFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Open connections keep reading the old file until they are replaced
+            if (replica.getHikariPoolMXBean() != null) {
+                replica.getHikariPoolMXBean().softEvictConnections();
+            }
+        } catch (Exception e) {
+            System.err.println("Replica sync failed: " + e.getMessage());
+        }
+    }
+}
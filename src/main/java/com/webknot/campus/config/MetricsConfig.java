@@ -0,0 +1,126 @@
+package com.webknot.campus.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.webknot.campus.service.EventSearchService;
+import com.webknot.campus.service.QRCodeService;
+import com.webknot.campus.service.QrImageCache;
+import com.webknot.campus.service.QrRenderingService;
+import com.webknot.campus.service.RegistrationIndexService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.StudentLookupService;
+import com.webknot.campus.service.WriteQueueService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * QR image cache counters and size
+     */
+    @Bean
+    public MeterBinder qrImageCacheMetrics(QRCodeService qrCodeService) {
+        return registry -> {
+            QrImageCache cache = qrCodeService.getImageCache();
+            FunctionCounter.builder("qr.image.cache.requests", cache, QrImageCache::getHits)
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("qr.image.cache.requests", cache, QrImageCache::getMisses)
+                .tag("result", "miss").register(registry);
+            FunctionCounter.builder("qr.image.cache.evictions", cache, QrImageCache::getEvictions)
+                .register(registry);
+            Gauge.builder("qr.image.cache.size", cache, QrImageCache::getEntryCount)
+                .register(registry);
+            Gauge.builder("qr.image.cache.bytes", cache, QrImageCache::getCurrentBytes)
+                .baseUnit("bytes").register(registry);
+        };
+    }
+    
+    /**
+     * Background QR render backlog and in-memory index sizes
+     */
+    @Bean
+    public MeterBinder checkInMetrics(QrRenderingService qrRenderingService,
+                                      RegistrationIndexService registrationIndexService,
+                                      EventSearchService eventSearchService,
+                                      StudentLookupService studentLookupService) {
+        return registry -> {
+            Gauge.builder("qr.render.pending", qrRenderingService, QrRenderingService::getPendingCount)
+                .register(registry);
+            Gauge.builder("registration.index.size", registrationIndexService, RegistrationIndexService::size)
+                .register(registry);
+            Gauge.builder("event.search.index.size", eventSearchService, EventSearchService::size)
+                .register(registry);
+            Gauge.builder("student.lookup.index.size", studentLookupService, StudentLookupService::size)
+                .register(registry);
+        };
+    }
+    
+    /**
+     * Report cache hit rate, invalidations and size
+     */
+    @Bean
+    public MeterBinder reportCacheMetrics(ReportCacheService reportCache) {
+        return registry -> {
+            FunctionCounter.builder("report.cache.requests", reportCache, ReportCacheService::getHits)
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("report.cache.requests", reportCache, ReportCacheService::getStaleHits)
+                .tag("result", "stale").register(registry);
+            FunctionCounter.builder("report.cache.requests", reportCache, ReportCacheService::getMisses)
+                .tag("result", "miss").register(registry);
+            FunctionCounter.builder("report.cache.invalidations", reportCache, ReportCacheService::getInvalidations)
+                .register(registry);
+            Gauge.builder("report.cache.size", reportCache, ReportCacheService::getEntryCount)
+                .register(registry);
+        };
+    }
+    
+    /**
+     * Single-writer queue depth, commits and retries
+     */
+    @Bean
+    public MeterBinder writeQueueMetrics(WriteQueueService writeQueue) {
+        return registry -> {
+            Gauge.builder("write.queue.pending", writeQueue, WriteQueueService::getPendingCount)
+                .register(registry);
+            FunctionCounter.builder("write.queue.commits", writeQueue, WriteQueueService::getCommits)
+                .register(registry);
+            FunctionCounter.builder("write.queue.writes", writeQueue, WriteQueueService::getWrites)
+                .tag("result", "committed").register(registry);
+            FunctionCounter.builder("write.queue.writes", writeQueue, WriteQueueService::getFailedWrites)
+                .tag("result", "failed").register(registry);
+            FunctionCounter.builder("write.queue.split.batches", writeQueue, WriteQueueService::getSplitBatches)
+                .register(registry);
+            FunctionCounter.builder("write.queue.busy.retries", writeQueue, WriteQueueService::getBusyRetries)
+                .register(registry);
+        };
+    }
+    
+    /**
+     * Connections handed out by a read/write routing DataSource (sqlite-wal or read replica), by target
+     */
+    @Bean
+    public MeterBinder dataSourceRoutingMetrics(DataSource dataSource) {
+        return registry -> {
+            ReadWriteRoutingDataSource routing;
+            try {
+                routing = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+            } catch (Exception e) {
+                return;
+            }
+            FunctionCounter.builder("db.routing.connections", routing, ReadWriteRoutingDataSource::getReadConnections)
+                .tag("target", "read").register(registry);
+            FunctionCounter.builder("db.routing.connections", routing, ReadWriteRoutingDataSource::getWriteConnections)
+                .tag("target", "write").register(registry);
+            FunctionCounter.builder("db.routing.read.fallbacks", routing, ReadWriteRoutingDataSource::getReadFallbacks)
+                .register(registry);
+            Gauge.builder("db.routing.read.usable", routing, r -> r.isReadUsable() ? 1 : 0)
+                .register(registry);
+        };
+    }
+}
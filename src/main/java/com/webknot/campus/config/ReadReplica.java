@@ -0,0 +1,21 @@
+package com.webknot.campus.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of a method (or of every method of a class) read from the read side
+ * of a ReadWriteRoutingDataSource: the replica, or the sqlite-wal read pool.
+ *
+ * Only for reads that can be a little behind the primary, such as reports, exports and list pages.
+ * Everything else, including Spring Data's own read-only transactions (findById, existsById), stays on
+ * the primary so that a write is always visible to the next request.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadReplica {
+}
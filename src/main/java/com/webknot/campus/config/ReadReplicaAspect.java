@@ -0,0 +1,27 @@
+package com.webknot.campus.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opts methods marked @ReadReplica in to the read side for as long as they run
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Outside @Transactional, so the flag is set before any connection is taken
+public class ReadReplicaAspect {
+
+    @Around("@within(com.webknot.campus.config.ReadReplica) || @annotation(com.webknot.campus.config.ReadReplica)")
+    public Object onReadSide(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReadWriteRoutingDataSource.allowReadSide(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.allowReadSide(previous);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.webknot.campus.config;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for Spring read-only transactions that opted in (@ReadReplica, onReadSide) to a read
+ * DataSource (replica or read-only pool) and everything else, including other read-only transactions and
+ * work outside a transaction, to the write DataSource.
+ *
+ * The decision is made when the physical connection is taken, so Hibernate must take it at the first
+ * statement (hibernate.connection.provider_disables_autocommit) rather than when the transaction begins,
+ * before Spring has set the read-only flag. While the read side is marked unusable (e.g. replica lag),
+ * read-only work falls back to the write side.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String READ = "read";
+    private static final String WRITE = "write";
+
+    // Set while code that opted in to the read side runs on this thread
+    private static final ThreadLocal<Boolean> READ_SIDE_ALLOWED = new ThreadLocal<>();
+
+    private volatile boolean readUsable = true;
+
+    private final AtomicLong readConnections = new AtomicLong();
+    private final AtomicLong writeConnections = new AtomicLong();
+    private final AtomicLong readFallbacks = new AtomicLong();
+
+    public ReadWriteRoutingDataSource(DataSource write, DataSource read) {
+        setTargetDataSources(Map.of(READ, read, WRITE, write));
+        setDefaultTargetDataSource(write);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || READ_SIDE_ALLOWED.get() == null) {
+            writeConnections.incrementAndGet();
+            return WRITE;
+        }
+        if (!readUsable) {
+            readFallbacks.incrementAndGet();
+            return WRITE;
+        }
+        readConnections.incrementAndGet();
+        return READ;
+    }
+
+    /**
+     * Runs work whose read-only transactions may use the read side, like a @ReadReplica method
+     * @param work Work that starts its own read-only transaction (e.g. through a TransactionTemplate)
+     * @return The work's result
+     */
+    public static <T> T onReadSide(Supplier<T> work) {
+        boolean previous = allowReadSide(true);
+        try {
+            return work.get();
+        } finally {
+            allowReadSide(previous);
+        }
+    }
+
+    /**
+     * Sets whether this thread's read-only transactions may use the read side
+     * @return The previous setting, to restore afterwards
+     */
+    static boolean allowReadSide(boolean allowed) {
+        boolean previous = READ_SIDE_ALLOWED.get() != null;
+        if (allowed) {
+            READ_SIDE_ALLOWED.set(Boolean.TRUE);
+        } else {
+            READ_SIDE_ALLOWED.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * Stops (or resumes) routing read-only work to the read side
+     * @param usable false to send everything to the write side
+     */
+    public void setReadUsable(boolean usable) { this.readUsable = usable; }
+
+    public boolean isReadUsable() { return readUsable; }
+
+    public long getReadConnections() { return readConnections.get(); }
+
+    public long getWriteConnections() { return writeConnections.get(); }
+
+    public long getReadFallbacks() { return readFallbacks.get(); }
+}
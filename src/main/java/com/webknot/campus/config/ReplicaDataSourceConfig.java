@@ -0,0 +1,110 @@
+package com.webknot.campus.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Read replica for read-only transactions (app.datasource.replica.enabled=true).
+ *
+ * spring.datasource stays the primary and takes all writes. Read-only transactions of @ReadReplica code
+ * (reports, exports, list endpoints) go to the replica while its lag is within max-lag, otherwise to the
+ * primary.
+ * Not for use with the sqlite-wal profile, which sets up its own routing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${app.datasource.replica.url}")
+    private String url;
+
+    @Value("${app.datasource.replica.username:}")
+    private String username;
+
+    @Value("${app.datasource.replica.password:}")
+    private String password;
+
+    @Value("${app.datasource.replica.driver-class-name:}")
+    private String driverClassName;
+
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replica.max-lag:10s}")
+    private Duration maxLag;
+
+    @Value("${app.datasource.replica.lag-check-interval:5s}")
+    private Duration lagCheckInterval;
+
+    /**
+     * The primary pool, configured from spring.datasource as usual
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * The replica pool; app.datasource.replica.hikari takes the same settings as spring.datasource.hikari
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password);
+        if (StringUtils.hasText(driverClassName)) {
+            builder.driverClassName(driverClassName);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource);
+    }
+
+    /**
+     * Lag checks; without a lag-query the replica is always considered current
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "app.datasource.replica.lag-query")
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource, DataSource dataSource) throws Exception {
+        return new ReplicaLagMonitor(replicaDataSource, dataSource.unwrap(ReadWriteRoutingDataSource.class),
+            lagQuery, maxLag, lagCheckInterval);
+    }
+
+    /**
+     * Replica lag against the threshold
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replica.lag-query")
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor monitor) {
+        return registry -> {
+            Gauge.builder("db.replica.lag", monitor, ReplicaLagMonitor::getLagSeconds)
+                .baseUnit("seconds").register(registry);
+            Gauge.builder("db.replica.lag.max", monitor, ReplicaLagMonitor::getMaxLagSeconds)
+                .baseUnit("seconds").register(registry);
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.webknot.campus.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Polls the replica's replication lag and takes it out of read routing while the lag is above the
+ * threshold or the lag query fails. Until the first check succeeds, reads stay on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final ReadWriteRoutingDataSource router;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, ReadWriteRoutingDataSource router, String lagQuery,
+                             Duration maxLag, Duration interval) {
+        this.replica = new JdbcTemplate(replica);
+        this.router = router;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.interval = interval;
+    }
+
+    public void start() {
+        router.setReadUsable(false);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the lag query once and updates read routing
+     */
+    public void check() {
+        boolean usable;
+        try {
+            // NULL means nothing to replay (e.g. pg_last_xact_replay_timestamp() before the first commit)
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (Exception e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (router.isReadUsable()) {
+                System.err.println("Replica lag check failed: " + e.getMessage());
+            }
+        }
+
+        if (usable != router.isReadUsable()) {
+            router.setReadUsable(usable);
+            System.out.println(usable
+                ? "Replica lag " + lagSeconds + "s; routing read-only transactions to the replica"
+                : "Replica lag " + lagSeconds + "s (max " + maxLag.toSeconds() + "s); routing read-only transactions to the primary");
+        }
+    }
+
+    /**
+     * @return Last measured lag in seconds, or NaN if the replica could not be queried
+     */
+    public double getLagSeconds() { return lagSeconds; }
+
+    public double getMaxLagSeconds() { return maxLag.toMillis() / 1000.0; }
+}
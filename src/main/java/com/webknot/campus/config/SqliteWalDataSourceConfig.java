@@ -0,0 +1,49 @@
+package com.webknot.campus.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * SQLite in WAL mode with a single-connection write pool and a read-only pool (sqlite-wal profile).
+ *
+ * In WAL mode readers work from a snapshot and never block the writer, so report queries and exports
+ * can run on the read pool while check-ins commit. Read-only transactions of @ReadReplica code get a read
+ * connection; everything else, including work outside a transaction, gets the write connection.
+ */
+@Configuration
+@Profile("sqlite-wal")
+public class SqliteWalDataSourceConfig {
+
+    /**
+     * The one connection that writes. Schema setup runs on it at startup, so it creates the file and
+     * switches it to WAL before any reader connects.
+     */
+    @Bean
+    @ConfigurationProperties("app.sqlite.write-pool")
+    public HikariDataSource sqliteWritePool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Read-only connections for read-only transactions
+     */
+    @Bean
+    @ConfigurationProperties("app.sqlite.read-pool")
+    public HikariDataSource sqliteReadPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource sqliteWritePool, HikariDataSource sqliteReadPool) {
+        return new ReadWriteRoutingDataSource(sqliteWritePool, sqliteReadPool);
+    }
+}
@@ -1,91 +1,267 @@
 package com.webknot.campus.controller;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.webknot.campus.config.ReadReplica;
 import com.webknot.campus.dto.AttendanceRequest;
 import com.webknot.campus.dto.AttendanceResponse;
+import com.webknot.campus.dto.AttendanceView;
+import com.webknot.campus.dto.BatchCheckInRequest;
+import com.webknot.campus.dto.BatchCheckInResult;
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.IndexedRegistration;
+import com.webknot.campus.dto.ScanRecord;
 import com.webknot.campus.entity.Attendance;
 import com.webknot.campus.entity.Registration;
 import com.webknot.campus.repository.AttendanceRepository;
+import com.webknot.campus.repository.EventRepository;
 import com.webknot.campus.repository.RegistrationRepository;
+import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.EventStatsService;
+import com.webknot.campus.service.ParsedQrToken;
 import com.webknot.campus.service.QRCodeService;
+import com.webknot.campus.service.RegistrationIndexService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.WriteQueueService;
 
 @RestController
 @RequestMapping("/api/attendance")
 @CrossOrigin(origins = "*")
 public class AttendanceController {
     
+    private static final int MAX_BATCH_SCANS = 1000;
+    
     @Autowired
     private AttendanceRepository attendanceRepository;
     
     @Autowired
     private RegistrationRepository registrationRepository;
     
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
     @Autowired
     private QRCodeService qrCodeService;
     
+    @Autowired
+    private RegistrationIndexService registrationIndexService;
+    
+    @Autowired
+    private EventStatsService eventStatsService;
+    
+    @Autowired
+    private WriteQueueService writeQueue;
+    
+    @Autowired
+    private ReportCacheService reportCache;
+    
     /**
      * Mark attendance via QR code scan
      */
     @PostMapping("/qr-scan")
     public ResponseEntity<AttendanceResponse> markAttendanceByQR(@RequestBody AttendanceRequest request) {
         try {
-            // Validate QR token format
-            if (!qrCodeService.isValidQRToken(request.getQrToken())) {
+            // Validate QR token format (parsed once per request)
+            if (!(qrCodeService.parseQrToken(request.getQrToken()) instanceof ParsedQrToken)) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Find registration by QR token
-            Optional<Registration> registrationOpt = registrationRepository.findByQrToken(request.getQrToken());
-            if (registrationOpt.isEmpty()) {
+            // Resolve the token from the in-memory index
+            Optional<IndexedRegistration> entryOpt = registrationIndexService.find(request.getQrToken());
+            if (entryOpt.isEmpty() || !entryOpt.get().isActive()) {
                 return ResponseEntity.badRequest().build();
             }
             
-            Registration registration = registrationOpt.get();
+            IndexedRegistration entry = entryOpt.get();
             
-            // Check if already attended
-            if (attendanceRepository.findByRegistrationRegistrationId(registration.getRegistrationId()).isPresent()) {
+            // Claim the check-in atomically - a second scan of the same ticket loses here
+            if (!registrationIndexService.claimAttendance(entry.qrToken())) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Check if registration is active
-            if (!"REGISTERED".equals(registration.getStatus())) {
+            // Only the attendance insert and the rollup update touch the database
+            Attendance attendance;
+            try {
+                attendance = writeQueue.submit(
+                    () -> attendanceRepository.save(new Attendance(
+                        registrationRepository.getReferenceById(entry.registrationId()),
+                        studentRepository.getReferenceById(entry.studentId()),
+                        eventRepository.getReferenceById(entry.eventId()),
+                        "QR_SCAN", request.getScannedBy())),
+                    saved -> eventStatsService.recordCheckIns(entry.eventId(), 1, 0));
+            } catch (DataIntegrityViolationException e) {
+                // Already checked in through another instance - keep the claim
                 return ResponseEntity.badRequest().build();
+            } catch (Exception e) {
+                registrationIndexService.releaseAttendance(entry.qrToken());
+                throw e;
             }
-            
-            // Create attendance record
-            Attendance attendance = new Attendance(registration, "QR_SCAN", request.getScannedBy());
-            attendance = attendanceRepository.save(attendance);
+            reportCache.invalidate(Topic.ATTENDANCE);
             
             // Create response
             AttendanceResponse response = new AttendanceResponse();
             response.setAttendanceId(attendance.getAttendanceId());
-            response.setStudentId(attendance.getStudent().getStudentId());
-            response.setStudentName(attendance.getStudent().getFullName());
-            response.setEventId(attendance.getEvent().getEventId());
-            response.setEventName(attendance.getEvent().getEventName());
+            response.setStudentId(entry.studentId());
+            response.setStudentName(entry.studentName());
+            response.setEventId(entry.eventId());
+            response.setEventName(entry.eventName());
             response.setCheckInTime(attendance.getCheckInTime());
             response.setCheckInMethod(attendance.getCheckInMethod());
             response.setScannedBy(attendance.getScannedBy());
             
             return ResponseEntity.ok(response);
             
+        } catch (CannotAcquireLockException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    /**
+     * Sync a batch of scans queued by an offline gate scanner
+     */
+    @PostMapping("/qr-scan/batch")
+    public ResponseEntity<List<BatchCheckInResult>> markAttendanceBatch(@RequestBody BatchCheckInRequest request) {
+        List<ScanRecord> scans = request.getScans();
+        if (scans == null || scans.isEmpty() || scans.size() > MAX_BATCH_SCANS || scans.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // Resolve every token with one IN query
+        Set<String> qrTokens = new HashSet<>();
+        for (ScanRecord scan : scans) {
+            if (qrCodeService.parseQrToken(scan.getQrToken()) instanceof ParsedQrToken) {
+                qrTokens.add(scan.getQrToken());
+            }
+        }
+        Map<String, Registration> registrations = qrTokens.isEmpty() ? Map.of()
+            : registrationRepository.findByQrTokenIn(qrTokens).stream()
+                .collect(Collectors.toMap(Registration::getQrToken, Function.identity()));
+        
+        // Registrations already checked in (an earlier sync or a live scan)
+        Set<Long> checkedIn = registrations.isEmpty() ? new HashSet<>()
+            : new HashSet<>(attendanceRepository.findRegistrationIdsWithAttendance(
+                registrations.values().stream().map(Registration::getRegistrationId).toList()));
+        
+        BatchCheckInResult[] results = new BatchCheckInResult[scans.size()];
+        List<Attendance> attendances = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < scans.size(); i++) {
+            ScanRecord scan = scans.get(i);
+            Registration registration = registrations.get(scan.getQrToken());
+            
+            if (!qrTokens.contains(scan.getQrToken())) {
+                results[i] = BatchCheckInResult.rejected(scan.getQrToken(), "INVALID_TOKEN");
+            } else if (registration == null) {
+                results[i] = BatchCheckInResult.rejected(scan.getQrToken(), "NOT_REGISTERED");
+            } else if (!"REGISTERED".equals(registration.getStatus())) {
+                results[i] = BatchCheckInResult.rejected(scan.getQrToken(), "CANCELLED");
+            } else if (!checkedIn.add(registration.getRegistrationId())) {
+                // Replayed or repeated scan - skip it, the student is already in
+                results[i] = BatchCheckInResult.rejected(scan.getQrToken(), "ALREADY_CHECKED_IN");
+            } else {
+                Attendance attendance = new Attendance(registration, "QR_SCAN", scan.getScannedBy());
+                if (scan.getScannedAt() != null) {
+                    attendance.setCheckInTime(scan.getScannedAt());
+                }
+                attendances.add(attendance);
+                positions.add(i);
+            }
+        }
+        
+        // Write all new rows and the rollup in one batched transaction
+        String[] failures = new String[attendances.size()];
+        try {
+            List<Attendance> checkIns = attendances;
+            attendances = writeQueue.submit(
+                () -> attendanceRepository.saveAll(checkIns.stream().map(this::withReferences).toList()),
+                saved -> {
+                    Map<String, Integer> perEvent = new HashMap<>();
+                    for (Attendance attendance : saved) {
+                        perEvent.merge(attendance.getEvent().getEventId(), 1, Integer::sum);
+                    }
+                    perEvent.forEach((eventId, count) -> eventStatsService.recordCheckIns(eventId, count, 0));
+                });
+        } catch (CannotAcquireLockException e) {
+            // Nothing was written; the scanner keeps its queue and syncs again
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            // A live scan raced us for one of the rows - fall back to one insert per scan
+            for (int n = 0; n < attendances.size(); n++) {
+                Attendance attendance = attendances.get(n);
+                try {
+                    attendances.set(n, writeQueue.submit(
+                        () -> attendanceRepository.save(withReferences(attendance)),
+                        saved -> eventStatsService.recordCheckIns(saved.getEvent().getEventId(), 1, 0)));
+                } catch (DataIntegrityViolationException duplicate) {
+                    failures[n] = "ALREADY_CHECKED_IN";
+                } catch (Exception failure) {
+                    failures[n] = "FAILED";
+                }
+            }
+        }
+        reportCache.invalidate(Topic.ATTENDANCE);
+        
+        for (int n = 0; n < attendances.size(); n++) {
+            Attendance attendance = attendances.get(n);
+            ScanRecord scan = scans.get(positions.get(n));
+            if (failures[n] == null) {
+                registrationIndexService.markAttended(scan.getQrToken());
+            }
+            results[positions.get(n)] = failures[n] != null
+                ? BatchCheckInResult.rejected(scan.getQrToken(), failures[n])
+                : new BatchCheckInResult(scan.getQrToken(), "CHECKED_IN", attendance.getAttendanceId(),
+                    attendance.getStudent().getStudentId(), attendance.getEvent().getEventId(),
+                    attendance.getCheckInTime());
+        }
+        
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+    
+    /**
+     * Copy of a check-in that points at references instead of the loaded registration, student and event,
+     * so the writer persists it without re-reading them
+     */
+    private Attendance withReferences(Attendance checkIn) {
+        Attendance attendance = new Attendance(
+            registrationRepository.getReferenceById(checkIn.getRegistration().getRegistrationId()),
+            studentRepository.getReferenceById(checkIn.getStudent().getStudentId()),
+            eventRepository.getReferenceById(checkIn.getEvent().getEventId()),
+            checkIn.getCheckInMethod(), checkIn.getScannedBy());
+        attendance.setCheckInTime(checkIn.getCheckInTime());
+        return attendance;
+    }
+    
     /**
      * Mark attendance manually
      */
@@ -108,8 +284,23 @@ public class AttendanceController {
             }
             
             // Create attendance record
-            Attendance attendance = new Attendance(registration, "MANUAL", request.getScannedBy());
-            attendance = attendanceRepository.save(attendance);
+            Attendance attendance = writeQueue.submit(
+                () -> attendanceRepository.save(new Attendance(
+                    registrationRepository.getReferenceById(registration.getRegistrationId()),
+                    studentRepository.getReferenceById(registration.getStudent().getStudentId()),
+                    eventRepository.getReferenceById(registration.getEvent().getEventId()),
+                    "MANUAL", request.getScannedBy())),
+                saved -> {
+                    // Rollup attendance only counts active registrations
+                    if ("REGISTERED".equals(registration.getStatus())) {
+                        eventStatsService.recordCheckIns(registration.getEvent().getEventId(), 0, 1);
+                    }
+                });
+            // Saved against the writer's references; the response needs the names loaded above
+            attendance.setStudent(registration.getStudent());
+            attendance.setEvent(registration.getEvent());
+            registrationIndexService.markAttended(registration.getQrToken());
+            reportCache.invalidate(Topic.ATTENDANCE);
             
             // Create response
             AttendanceResponse response = new AttendanceResponse();
@@ -124,33 +315,59 @@ public class AttendanceController {
             
             return ResponseEntity.ok(response);
             
+        } catch (CannotAcquireLockException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     /**
-     * Get all attendance records
+     * Get attendance records one page at a time, ordered by attendanceId
      */
     @GetMapping
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<AttendanceView>> getAllAttendance(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "asc") String order) {
+        Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(order);
+        if (direction.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = CursorPage.pageSize(limit);
+        List<AttendanceView> rows = direction.get().isAscending()
+            ? attendanceRepository.findViewsAfter(after != null ? after : 0L, CursorPage.fetchLimit(pageSize))
+            : attendanceRepository.findViewsBefore(after != null ? after : Long.MAX_VALUE, CursorPage.fetchLimit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, AttendanceView::attendanceId));
     }
     
     /**
-     * Get attendance by event
+     * Get attendance by event one page at a time, ordered by attendanceId
      */
     @GetMapping("/event/{eventId}")
-    public List<Attendance> getAttendanceByEvent(@PathVariable String eventId) {
-        return attendanceRepository.findByEventEventId(eventId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<AttendanceView> getAttendanceByEvent(@PathVariable String eventId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(attendanceRepository.findViewsByEvent(eventId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, AttendanceView::attendanceId);
     }
     
     /**
-     * Get attendance by student
+     * Get attendance by student one page at a time, ordered by attendanceId
      */
     @GetMapping("/student/{studentId}")
-    public List<Attendance> getAttendanceByStudent(@PathVariable String studentId) {
-        return attendanceRepository.findByStudentStudentId(studentId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<AttendanceView> getAttendanceByStudent(@PathVariable String studentId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(attendanceRepository.findViewsByStudent(studentId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, AttendanceView::attendanceId);
     }
     
     /**
@@ -1,13 +1,13 @@
 package com.webknot.campus.controller;
 
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +15,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.webknot.campus.config.ReadReplica;
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.EventSearchHit;
+import com.webknot.campus.dto.EventSummaryResponse;
 import com.webknot.campus.entity.Event;
 import com.webknot.campus.repository.EventRepository;
-import com.webknot.campus.repository.RegistrationRepository;
+import com.webknot.campus.service.EventSearchService;
+import com.webknot.campus.service.EventStatsService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.RegistrationIndexService;
+import com.webknot.campus.service.SeatReservationService;
 
 @RestController
 @RequestMapping("/api/events")
@@ -30,36 +40,75 @@ public class EventController {
     private EventRepository eventRepository;
     
     @Autowired
-    private RegistrationRepository registrationRepository;
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private RegistrationIndexService registrationIndexService;
+    
+    @Autowired
+    private EventStatsService eventStatsService;
+    
+    @Autowired
+    private ReportCacheService reportCache;
+    
+    @Autowired
+    private EventSearchService eventSearchService;
+    
+    // Keyset position in schedule order; the cursor is "date,time,eventId" of the last event on a page
+    private record SchedulePosition(LocalDate date, LocalTime time, String eventId) {
+        
+        static SchedulePosition parse(String cursor) {
+            String[] parts = cursor.split(",", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SchedulePosition(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), parts[2]);
+        }
+        
+        static String cursor(LocalDate date, LocalTime time, String eventId) {
+            return date + "," + time + "," + eventId;
+        }
+    }
     
     /**
-     * Get all events with registration counts
+     * Get events with registration counts one page at a time, in schedule order
      */
     @GetMapping
-    public List<Map<String, Object>> getAllEvents() {
-        List<Event> events = eventRepository.findAll();
-        
-        return events.stream().map(event -> {
-            Map<String, Object> eventData = new HashMap<>();
-            eventData.put("eventId", event.getEventId());
-            eventData.put("eventName", event.getEventName());
-            eventData.put("eventType", event.getEventType());
-            eventData.put("eventDate", event.getEventDate());
-            eventData.put("eventTime", event.getEventTime());
-            eventData.put("venue", event.getVenue());
-            eventData.put("capacity", event.getCapacity());
-            eventData.put("organizerName", event.getOrganizerName());
-            eventData.put("organizerEmail", event.getOrganizerEmail());
-            eventData.put("description", event.getDescription());
-            eventData.put("createdAt", event.getCreatedAt());
-            eventData.put("updatedAt", event.getUpdatedAt());
-            
-            // Get registration count from repository
-            long registrationCount = registrationRepository.countActiveRegistrationsByEvent(event.getEventId());
-            eventData.put("registrationCount", registrationCount);
-            
-            return eventData;
-        }).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<EventSummaryResponse>> getAllEvents(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<EventSummaryResponse> rows;
+        if (after == null) {
+            rows = eventRepository.findSummaries(CursorPage.fetchLimit(pageSize));
+        } else {
+            SchedulePosition position;
+            try {
+                position = SchedulePosition.parse(after);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = eventRepository.findSummariesAfter(position.date(), position.time(), position.eventId(),
+                CursorPage.fetchLimit(pageSize));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize,
+            event -> SchedulePosition.cursor(event.eventDate(), event.eventTime(), event.eventId())));
+    }
+    
+    /**
+     * Search events by name, description, venue and organizer (best matches first)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<EventSearchHit>> searchEvents(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String after) {
+        try {
+            return ResponseEntity.ok(eventSearchService.search(q, CursorPage.pageSize(limit), after));
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     /**
@@ -87,6 +136,9 @@ public class EventController {
             System.out.println("Capacity: " + event.getCapacity());
             
             Event savedEvent = eventRepository.save(event);
+            eventStatsService.initialize(savedEvent.getEventId());
+            eventSearchService.index(savedEvent);
+            reportCache.invalidate(Topic.EVENTS);
             return ResponseEntity.ok(savedEvent);
         } catch (Exception e) {
             System.err.println("Error creating event: " + e.getMessage());
@@ -113,6 +165,9 @@ public class EventController {
             event.setOrganizerEmail("test@test.com");
             
             Event savedEvent = eventRepository.save(event);
+            eventStatsService.initialize(savedEvent.getEventId());
+            eventSearchService.index(savedEvent);
+            reportCache.invalidate(Topic.EVENTS);
             return ResponseEntity.ok("Event created successfully: " + savedEvent.getEventId());
         } catch (Exception e) {
             System.err.println("Error in test creation: " + e.getMessage());
@@ -132,6 +187,12 @@ public class EventController {
             }
             
             eventRepository.deleteById(eventId);
+            eventStatsService.remove(eventId);
+            seatReservationService.forget(eventId);
+            registrationIndexService.removeEvent(eventId);
+            eventSearchService.remove(eventId);
+            // Cascades take the event's registrations, check-ins and feedback with it
+            reportCache.invalidate(Topic.values());
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -139,27 +200,56 @@ public class EventController {
     }
     
     /**
-     * Get upcoming events
+     * Get upcoming events one page at a time, in schedule order
      */
     @GetMapping("/upcoming")
-    public List<Event> getUpcomingEvents() {
-        return eventRepository.findUpcomingEvents();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<Event>> getUpcomingEvents(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        List<Event> rows;
+        if (after == null) {
+            rows = eventRepository.findUpcomingEvents(LocalDate.now(), CursorPage.fetchLimit(pageSize));
+        } else {
+            SchedulePosition position;
+            try {
+                position = SchedulePosition.parse(after);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            rows = eventRepository.findUpcomingEventsAfter(LocalDate.now(), position.date(), position.time(),
+                position.eventId(), CursorPage.fetchLimit(pageSize));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize,
+            event -> SchedulePosition.cursor(event.getEventDate(), event.getEventTime(), event.getEventId())));
     }
     
     /**
-     * Get events by type
+     * Get events by type one page at a time, ordered by eventId
      */
     @GetMapping("/type/{eventType}")
-    public List<Event> getEventsByType(@PathVariable String eventType) {
-        return eventRepository.findByEventType(eventType);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<Event> getEventsByType(@PathVariable String eventType,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "") String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(eventRepository.findByEventType(eventType, after, CursorPage.fetchLimit(pageSize)),
+            pageSize, Event::getEventId);
     }
     
     /**
-     * Get events with available slots
+     * Get events with available slots one page at a time, ordered by eventId
      */
     @GetMapping("/available")
-    public List<Event> getEventsWithAvailableSlots() {
-        return eventRepository.findEventsWithAvailableSlots();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<Event> getEventsWithAvailableSlots(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "") String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(eventRepository.findEventsWithAvailableSlots(after, CursorPage.fetchLimit(pageSize)),
+            pageSize, Event::getEventId);
     }
     
     /**
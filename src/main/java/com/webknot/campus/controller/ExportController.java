@@ -0,0 +1,85 @@
+package com.webknot.campus.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.webknot.campus.repository.EventRepository;
+import com.webknot.campus.service.ExportService;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private interface ExportWriter {
+        long write(ExportService.Format format, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Export an event's registrations as CSV or NDJSON
+     */
+    @GetMapping("/events/{eventId}/registrations")
+    public ResponseEntity<StreamingResponseBody> exportRegistrations(@PathVariable String eventId,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(eventId, format, "registrations",
+            (exportFormat, out) -> exportService.exportRegistrations(eventId, exportFormat, out));
+    }
+
+    /**
+     * Export an event's attendance as CSV or NDJSON
+     */
+    @GetMapping("/events/{eventId}/attendance")
+    public ResponseEntity<StreamingResponseBody> exportAttendance(@PathVariable String eventId,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(eventId, format, "attendance",
+            (exportFormat, out) -> exportService.exportAttendance(eventId, exportFormat, out));
+    }
+
+    /**
+     * Export an event's feedback as CSV or NDJSON
+     */
+    @GetMapping("/events/{eventId}/feedback")
+    public ResponseEntity<StreamingResponseBody> exportFeedback(@PathVariable String eventId,
+            @RequestParam(defaultValue = "csv") String format) {
+        return export(eventId, format, "feedback",
+            (exportFormat, out) -> exportService.exportFeedback(eventId, exportFormat, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String eventId, String format, String dataset,
+                                                         ExportWriter writer) {
+        Optional<ExportService.Format> exportFormat = ExportService.Format.parse(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!eventRepository.existsById(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String fileName = dataset + "-" + eventId + "." + exportFormat.get().getExtension();
+        // Rows are written after the handler returns, on the async request thread
+        StreamingResponseBody body = out -> writer.write(exportFormat.get(), out);
+        return ResponseEntity.ok()
+            .contentType(exportFormat.get().getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+}
@@ -4,21 +4,35 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.webknot.campus.config.ReadReplica;
+import com.webknot.campus.dto.CursorPage;
 import com.webknot.campus.dto.FeedbackRequest;
 import com.webknot.campus.dto.FeedbackResponse;
+import com.webknot.campus.dto.FeedbackView;
 import com.webknot.campus.entity.Feedback;
 import com.webknot.campus.entity.Registration;
+import com.webknot.campus.repository.EventRepository;
 import com.webknot.campus.repository.FeedbackRepository;
 import com.webknot.campus.repository.RegistrationRepository;
+import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.EventStatsService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.WriteQueueService;
 
 @RestController
 @RequestMapping("/api/feedback")
@@ -31,6 +45,21 @@ public class FeedbackController {
     @Autowired
     private RegistrationRepository registrationRepository;
     
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private EventStatsService eventStatsService;
+    
+    @Autowired
+    private WriteQueueService writeQueue;
+    
+    @Autowired
+    private ReportCacheService reportCache;
+    
     /**
      * Submit feedback for an event
      */
@@ -53,8 +82,17 @@ public class FeedbackController {
             }
             
             // Create feedback
-            Feedback feedback = new Feedback(registration, request.getRating(), request.getComments());
-            feedback = feedbackRepository.save(feedback);
+            Feedback feedback = writeQueue.submit(
+                () -> feedbackRepository.save(new Feedback(
+                    registrationRepository.getReferenceById(registration.getRegistrationId()),
+                    studentRepository.getReferenceById(registration.getStudent().getStudentId()),
+                    eventRepository.getReferenceById(registration.getEvent().getEventId()),
+                    request.getRating(), request.getComments())),
+                saved -> eventStatsService.recordFeedback(registration.getEvent().getEventId(), 1, saved.getRating()));
+            // Saved against the writer's references; the response needs the names loaded above
+            feedback.setStudent(registration.getStudent());
+            feedback.setEvent(registration.getEvent());
+            reportCache.invalidate(Topic.FEEDBACK);
             
             // Create response
             FeedbackResponse response = new FeedbackResponse();
@@ -69,33 +107,59 @@ public class FeedbackController {
             
             return ResponseEntity.ok(response);
             
+        } catch (CannotAcquireLockException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     /**
-     * Get all feedback
+     * Get feedback one page at a time, ordered by feedbackId
      */
     @GetMapping
-    public List<Feedback> getAllFeedback() {
-        return feedbackRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<FeedbackView>> getAllFeedback(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "asc") String order) {
+        Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(order);
+        if (direction.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = CursorPage.pageSize(limit);
+        List<FeedbackView> rows = direction.get().isAscending()
+            ? feedbackRepository.findViewsAfter(after != null ? after : 0L, CursorPage.fetchLimit(pageSize))
+            : feedbackRepository.findViewsBefore(after != null ? after : Long.MAX_VALUE, CursorPage.fetchLimit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, FeedbackView::feedbackId));
     }
     
     /**
-     * Get feedback by event
+     * Get feedback by event one page at a time, ordered by feedbackId
      */
     @GetMapping("/event/{eventId}")
-    public List<Feedback> getFeedbackByEvent(@PathVariable String eventId) {
-        return feedbackRepository.findByEventEventId(eventId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<FeedbackView> getFeedbackByEvent(@PathVariable String eventId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(feedbackRepository.findViewsByEvent(eventId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, FeedbackView::feedbackId);
     }
     
     /**
-     * Get feedback by student
+     * Get feedback by student one page at a time, ordered by feedbackId
      */
     @GetMapping("/student/{studentId}")
-    public List<Feedback> getFeedbackByStudent(@PathVariable String studentId) {
-        return feedbackRepository.findByStudentStudentId(studentId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<FeedbackView> getFeedbackByStudent(@PathVariable String studentId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(feedbackRepository.findViewsByStudent(studentId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, FeedbackView::feedbackId);
     }
     
     /**
@@ -111,24 +175,36 @@ public class FeedbackController {
      * Get feedback distribution for an event
      */
     @GetMapping("/distribution/{eventId}")
+    @Transactional(readOnly = true)
+    @ReadReplica
     public List<Object[]> getFeedbackDistribution(@PathVariable String eventId) {
         return feedbackRepository.getFeedbackDistributionByEvent(eventId);
     }
     
     /**
-     * Get positive feedback (rating >= 4)
+     * Get positive feedback (rating >= 4) one page at a time, ordered by feedbackId
      */
     @GetMapping("/positive")
-    public List<Feedback> getPositiveFeedback() {
-        return feedbackRepository.getPositiveFeedback();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<FeedbackView> getPositiveFeedback(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(feedbackRepository.getPositiveFeedback(after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, FeedbackView::feedbackId);
     }
     
     /**
-     * Get negative feedback (rating <= 2)
+     * Get negative feedback (rating <= 2) one page at a time, ordered by feedbackId
      */
     @GetMapping("/negative")
-    public List<Feedback> getNegativeFeedback() {
-        return feedbackRepository.getNegativeFeedback();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<FeedbackView> getNegativeFeedback(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(feedbackRepository.getNegativeFeedback(after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, FeedbackView::feedbackId);
     }
     
     /**
@@ -1,33 +1,69 @@
 package com.webknot.campus.controller;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.webknot.campus.config.ReadReplica;
+import com.webknot.campus.dto.BulkRegistrationRequest;
+import com.webknot.campus.dto.BulkRegistrationResult;
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.QrCodeStatusResponse;
 import com.webknot.campus.dto.RegistrationRequest;
 import com.webknot.campus.dto.RegistrationResponse;
+import com.webknot.campus.dto.RegistrationView;
 import com.webknot.campus.entity.Event;
 import com.webknot.campus.entity.Registration;
 import com.webknot.campus.entity.Student;
+import com.webknot.campus.repository.AttendanceRepository;
 import com.webknot.campus.repository.EventRepository;
 import com.webknot.campus.repository.RegistrationRepository;
 import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.EventStatsService;
 import com.webknot.campus.service.QRCodeService;
+import com.webknot.campus.service.QrRenderingService;
+import com.webknot.campus.service.RegistrationIndexService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.SeatReservationService;
+import com.webknot.campus.service.WriteQueueService;
 
 @RestController
 @RequestMapping("/api/registrations")
 @CrossOrigin(origins = "*")
 public class RegistrationController {
     
+    private static final int MAX_BULK_REGISTRATIONS = 1000;
+    
     @Autowired
     private RegistrationRepository registrationRepository;
     
@@ -40,6 +76,27 @@ public class RegistrationController {
     @Autowired
     private QRCodeService qrCodeService;
     
+    @Autowired
+    private QrRenderingService qrRenderingService;
+    
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private RegistrationIndexService registrationIndexService;
+    
+    @Autowired
+    private EventStatsService eventStatsService;
+    
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+    
+    @Autowired
+    private WriteQueueService writeQueue;
+    
+    @Autowired
+    private ReportCacheService reportCache;
+    
     /**
      * Register student for an event
      */
@@ -61,82 +118,355 @@ public class RegistrationController {
             Student student = studentOpt.get();
             Event event = eventOpt.get();
             
-            // Check if already registered
-            if (registrationRepository.isStudentRegisteredForEvent(request.getStudentId(), request.getEventId())) {
+            // Hold a seat (fails if the event is full)
+            if (!seatReservationService.hold(event)) {
                 return ResponseEntity.badRequest().build();
             }
             
-            // Check if event is full
-            Long currentRegistrations = registrationRepository.countActiveRegistrationsByEvent(request.getEventId());
-            if (currentRegistrations >= event.getCapacity()) {
-                return ResponseEntity.badRequest().build();
+            // Create registration (unique student/event constraint rejects duplicates); the seat commits
+            // with it, in the writer's next group commit
+            Registration registration;
+            try {
+                registration = writeQueue.submit(
+                    () -> registrationRepository.save(new Registration(
+                        studentRepository.getReferenceById(student.getStudentId()),
+                        eventRepository.getReferenceById(event.getEventId()))),
+                    saved -> seatReservationService.confirm(event.getEventId(), 1));
+            } catch (Exception e) {
+                seatReservationService.cancelHold(event.getEventId(), 1);
+                throw e;
             }
+            // Saved against the writer's references; the index needs the names loaded above
+            registration.setStudent(student);
+            registration.setEvent(event);
             
-            // Create registration
-            Registration registration = new Registration(student, event);
-            registration = registrationRepository.save(registration);
+            registrationIndexService.add(registration);
+            reportCache.invalidate(Topic.REGISTRATIONS);
             
-            // Generate QR code
-            String qrCode = qrCodeService.generateQRCode(registration.getQrToken());
-            registration.setQrCode(qrCode);
-            registration = registrationRepository.save(registration);
+            // Render the QR image in the background; clients poll /{id}/qr-status for it
+            qrRenderingService.submit(registration.getRegistrationId(), registration.getQrToken());
             
             // Create response
             RegistrationResponse response = new RegistrationResponse();
             response.setRegistrationId(registration.getRegistrationId());
             response.setStudentId(registration.getStudent().getStudentId());
             response.setEventId(registration.getEvent().getEventId());
-            response.setQrCode(registration.getQrCode());
+            response.setQrCodeUrl(qrCodeUrl(registration.getRegistrationId()));
             response.setQrToken(registration.getQrToken());
             response.setStatus(registration.getStatus());
             response.setRegistrationDate(registration.getRegistrationDate());
             
             return ResponseEntity.ok(response);
             
+        } catch (CannotAcquireLockException e) {
+            // Writer backlog - worth retrying, unlike a bad request
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Register many students in one call (e.g. a whole class into a mandatory seminar)
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkRegistrationResult>> registerStudentsInBulk(@RequestBody BulkRegistrationRequest request) {
+        List<RegistrationRequest> items = request.getRegistrations();
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_REGISTRATIONS || items.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // Set-based lookups: one query each for students, events and existing registrations
+        Set<String> studentIds = new HashSet<>();
+        Set<String> eventIds = new HashSet<>();
+        for (RegistrationRequest item : items) {
+            if (item.getStudentId() != null) studentIds.add(item.getStudentId());
+            if (item.getEventId() != null) eventIds.add(item.getEventId());
+        }
+        
+        Map<String, Student> students = studentRepository.findAllById(studentIds).stream()
+            .collect(Collectors.toMap(Student::getStudentId, Function.identity()));
+        Map<String, Event> events = eventRepository.findAllById(eventIds).stream()
+            .collect(Collectors.toMap(Event::getEventId, Function.identity()));
+        
+        Set<String> takenPairs = new HashSet<>();
+        if (!students.isEmpty() && !events.isEmpty()) {
+            for (Object[] pair : registrationRepository.findStudentEventPairs(students.keySet(), events.keySet())) {
+                takenPairs.add(pair[0] + "|" + pair[1]);
+            }
+        }
+        
+        // Validate each item; group the valid ones by event
+        BulkRegistrationResult[] results = new BulkRegistrationResult[items.size()];
+        Map<String, List<Integer>> acceptedByEvent = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            RegistrationRequest item = items.get(i);
+            if (!students.containsKey(item.getStudentId())) {
+                results[i] = BulkRegistrationResult.rejected(item, "STUDENT_NOT_FOUND");
+            } else if (!events.containsKey(item.getEventId())) {
+                results[i] = BulkRegistrationResult.rejected(item, "EVENT_NOT_FOUND");
+            } else if (!takenPairs.add(item.getStudentId() + "|" + item.getEventId())) {
+                results[i] = BulkRegistrationResult.rejected(item, "DUPLICATE");
+            } else {
+                acceptedByEvent.computeIfAbsent(item.getEventId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        
+        // One capacity check per event; items beyond the seats granted are rejected
+        List<Integer> positions = new ArrayList<>();
+        Map<String, Integer> grantedByEvent = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : acceptedByEvent.entrySet()) {
+            Event event = events.get(entry.getKey());
+            List<Integer> indexes = entry.getValue();
+            int granted = seatReservationService.hold(event, indexes.size());
+            grantedByEvent.put(event.getEventId(), granted);
+            
+            for (int n = 0; n < indexes.size(); n++) {
+                int index = indexes.get(n);
+                if (n < granted) {
+                    positions.add(index);
+                } else {
+                    results[index] = BulkRegistrationResult.rejected(items.get(index), "EVENT_FULL");
+                }
+            }
+        }
+        
+        // Insert everything, then take the seats, in one transaction; pooled IDs let Hibernate batch the INSERTs
+        List<Registration> registrations;
+        try {
+            registrations = writeQueue.submit(
+                () -> registrationRepository.saveAll(positions.stream()
+                    .map(index -> new Registration(
+                        studentRepository.getReferenceById(items.get(index).getStudentId()),
+                        eventRepository.getReferenceById(items.get(index).getEventId())))
+                    .toList()),
+                saved -> grantedByEvent.forEach((eventId, granted) -> {
+                    if (granted > 0) {
+                        seatReservationService.confirm(eventId, granted);
+                    }
+                }));
+        } catch (CannotAcquireLockException e) {
+            grantedByEvent.forEach(seatReservationService::cancelHold);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            grantedByEvent.forEach(seatReservationService::cancelHold);
+            for (int index : positions) {
+                results[index] = BulkRegistrationResult.rejected(items.get(index), "FAILED");
+            }
+            return ResponseEntity.ok(Arrays.asList(results));
+        }
+        reportCache.invalidate(Topic.REGISTRATIONS);
+        
+        for (int n = 0; n < registrations.size(); n++) {
+            Registration registration = registrations.get(n);
+            RegistrationRequest item = items.get(positions.get(n));
+            registration.setStudent(students.get(item.getStudentId()));
+            registration.setEvent(events.get(item.getEventId()));
+            results[positions.get(n)] = new BulkRegistrationResult(
+                registration.getStudent().getStudentId(), registration.getEvent().getEventId(),
+                "REGISTERED", registration.getRegistrationId(), registration.getQrToken());
+            registrationIndexService.add(registration);
+            qrRenderingService.submit(registration.getRegistrationId(), registration.getQrToken());
+        }
+        
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+    
+    /**
+     * Cancel a registration and give its seat back
+     */
+    @PostMapping("/{registrationId}/cancel")
+    public ResponseEntity<RegistrationResponse> cancelRegistration(@PathVariable Long registrationId) {
+        try {
+            Optional<Registration> registrationOpt = registrationRepository.findById(registrationId);
+            if (registrationOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            Registration registration = registrationOpt.get();
+            
+            // Only the request that actually flips the status releases the seat; the seat and the rollup
+            // commit with the flip
+            boolean cancelled = Boolean.TRUE.equals(writeQueue.submit(() -> {
+                if (registrationRepository.cancelRegistration(registrationId) == 0) {
+                    return false;
+                }
+                String eventId = registration.getEvent().getEventId();
+                seatReservationService.release(eventId, 1);
+                // A check-in stops counting once its registration is cancelled
+                attendanceRepository.findByRegistrationRegistrationId(registrationId).ifPresent(attendance ->
+                    eventStatsService.recordCheckIn(eventId, attendance.getCheckInMethod(), -1));
+                return true;
+            }));
+            if (!cancelled) {
+                return ResponseEntity.badRequest().build();
+            }
+            registrationIndexService.updateStatus(registration.getQrToken(), "CANCELLED");
+            reportCache.invalidate(Topic.REGISTRATIONS, Topic.ATTENDANCE);
+            
+            RegistrationResponse response = new RegistrationResponse();
+            response.setRegistrationId(registration.getRegistrationId());
+            response.setStudentId(registration.getStudent().getStudentId());
+            response.setEventId(registration.getEvent().getEventId());
+            response.setQrToken(registration.getQrToken());
+            response.setStatus("CANCELLED");
+            response.setRegistrationDate(registration.getRegistrationDate());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (CannotAcquireLockException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     /**
-     * Get all registrations
+     * Get registrations one page at a time, ordered by registrationId
      */
     @GetMapping
-    public List<Registration> getAllRegistrations() {
-        return registrationRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<RegistrationView>> getAllRegistrations(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "asc") String order) {
+        Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(order);
+        if (direction.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = CursorPage.pageSize(limit);
+        List<RegistrationView> rows = direction.get().isAscending()
+            ? registrationRepository.findViewsAfter(after != null ? after : 0L, CursorPage.fetchLimit(pageSize))
+            : registrationRepository.findViewsBefore(after != null ? after : Long.MAX_VALUE, CursorPage.fetchLimit(pageSize));
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, RegistrationView::registrationId));
     }
     
     /**
-     * Get registrations by student
+     * Get registrations by student one page at a time, ordered by registrationId
      */
     @GetMapping("/student/{studentId}")
-    public List<Registration> getRegistrationsByStudent(@PathVariable String studentId) {
-        return registrationRepository.findByStudentStudentId(studentId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<RegistrationView> getRegistrationsByStudent(@PathVariable String studentId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(registrationRepository.findViewsByStudent(studentId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, RegistrationView::registrationId);
     }
     
     /**
-     * Get registrations by event
+     * Get registrations by event one page at a time, ordered by registrationId
      */
     @GetMapping("/event/{eventId}")
-    public List<Registration> getRegistrationsByEvent(@PathVariable String eventId) {
-        return registrationRepository.findByEventEventId(eventId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<RegistrationView> getRegistrationsByEvent(@PathVariable String eventId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(registrationRepository.findViewsByEvent(eventId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, RegistrationView::registrationId);
     }
     
     /**
      * Get registration by QR token
      */
     @GetMapping("/qr/{qrToken}")
-    public ResponseEntity<Registration> getRegistrationByQrToken(@PathVariable String qrToken) {
-        Optional<Registration> registration = registrationRepository.findByQrToken(qrToken);
+    public ResponseEntity<RegistrationView> getRegistrationByQrToken(@PathVariable String qrToken) {
+        Optional<RegistrationView> registration = registrationRepository.findViewByQrToken(qrToken);
         return registration.map(ResponseEntity::ok)
                          .orElse(ResponseEntity.notFound().build());
     }
     
     /**
-     * Get registrations with attendance status for an event
+     * Get the QR code rendering status for a registration
+     */
+    @GetMapping("/{registrationId}/qr-status")
+    public ResponseEntity<QrCodeStatusResponse> getQrCodeStatus(@PathVariable Long registrationId) {
+        Optional<String> qrTokenOpt = registrationRepository.findQrTokenById(registrationId);
+        if (qrTokenOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        String qrToken = qrTokenOpt.get();
+        if (qrRenderingService.isRendered(qrToken)) {
+            return ResponseEntity.ok(new QrCodeStatusResponse(
+                registrationId, qrToken, "READY", qrCodeUrl(registrationId)));
+        }
+        
+        // Not rendered yet - make sure a job is queued (covers failed, dropped or evicted renders)
+        if (!qrRenderingService.isPending(registrationId)) {
+            qrRenderingService.submit(registrationId, qrToken);
+        }
+        return ResponseEntity.ok(new QrCodeStatusResponse(registrationId, qrToken, "PENDING", null));
+    }
+    
+    /**
+     * Get the QR code image for a registration (PNG by default, SVG on request)
+     */
+    @GetMapping(value = "/{registrationId}/qr", produces = {"image/png", "image/svg+xml"})
+    public ResponseEntity<byte[]> getQrCodeImage(@PathVariable Long registrationId,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestParam(required = false) String format,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                 WebRequest webRequest) {
+        int imageSize = size != null ? size : QRCodeService.DEFAULT_SIZE;
+        if (imageSize < QRCodeService.MIN_SIZE || imageSize > QRCodeService.MAX_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // Explicit format wins; otherwise serve SVG only to clients that ask for it
+        String imageFormat = format != null ? format.toLowerCase()
+            : (accept != null && accept.contains("image/svg+xml") && !accept.contains("image/png") ? "svg" : "png");
+        if (!"png".equals(imageFormat) && !"svg".equals(imageFormat)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Optional<String> qrTokenOpt = registrationRepository.findQrTokenById(registrationId);
+        if (qrTokenOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String qrToken = qrTokenOpt.get();
+        
+        // Same token, format and size always render the same bytes
+        String etag = "\"" + qrCodeService.imageTag(qrToken, imageFormat, imageSize) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        byte[] image;
+        MediaType mediaType;
+        if ("svg".equals(imageFormat)) {
+            image = qrCodeService.renderSvg(qrToken, imageSize);
+            mediaType = MediaType.valueOf("image/svg+xml");
+        } else {
+            image = qrCodeService.renderPng(qrToken, imageSize);
+            mediaType = MediaType.IMAGE_PNG;
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+            .body(image);
+    }
+    
+    /**
+     * Get registrations with attendance status for an event one page at a time, ordered by registrationId
      */
     @GetMapping("/event/{eventId}/with-attendance")
-    public List<Registration> getRegistrationsWithAttendance(@PathVariable String eventId) {
-        return registrationRepository.findRegistrationsWithAttendanceByEvent(eventId);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<RegistrationView> getRegistrationsWithAttendance(@PathVariable String eventId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Long after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(registrationRepository.findRegistrationsWithAttendanceByEvent(eventId, after != null ? after : 0L, CursorPage.fetchLimit(pageSize)),
+            pageSize, RegistrationView::registrationId);
+    }
+    
+    private String qrCodeUrl(Long registrationId) {
+        return "/api/registrations/" + registrationId + "/qr";
     }
 }
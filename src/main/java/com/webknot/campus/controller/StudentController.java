@@ -4,32 +4,75 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.webknot.campus.config.ReadReplica;
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.StudentSuggestion;
 import com.webknot.campus.entity.Student;
 import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.StudentLookupService;
 
 @RestController
 @RequestMapping("/api/students")
 @CrossOrigin(origins = "*")
 public class StudentController {
     
+    private static final int MAX_SUGGESTIONS = 50;
+    
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private ReportCacheService reportCache;
+    
+    @Autowired
+    private StudentLookupService studentLookupService;
+    
     /**
-     * Get all students
+     * Get students one page at a time, ordered by studentId
      */
     @GetMapping
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public ResponseEntity<CursorPage<Student>> getAllStudents(@RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "asc") String order) {
+        Optional<Sort.Direction> direction = Sort.Direction.fromOptionalString(order);
+        if (direction.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = CursorPage.pageSize(limit);
+        List<Student> rows;
+        if (direction.get().isAscending()) {
+            rows = studentRepository.findPageAfter(after != null ? after : "", CursorPage.fetchLimit(pageSize));
+        } else {
+            rows = after != null
+                ? studentRepository.findPageBefore(after, CursorPage.fetchLimit(pageSize))
+                : studentRepository.findAllByOrderByStudentIdDesc(CursorPage.fetchLimit(pageSize));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, Student::getStudentId));
+    }
+    
+    /**
+     * Typeahead: students whose ID, email or name starts with q
+     */
+    @GetMapping("/typeahead")
+    public List<StudentSuggestion> typeahead(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return studentLookupService.suggest(q, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
     }
     
     /**
@@ -66,6 +109,8 @@ public class StudentController {
             }
             
             Student savedStudent = studentRepository.save(student);
+            studentLookupService.add(savedStudent);
+            reportCache.invalidate(Topic.STUDENTS);
             return ResponseEntity.ok(savedStudent);
             
         } catch (Exception e) {
@@ -74,19 +119,31 @@ public class StudentController {
     }
     
     /**
-     * Get students by course
+     * Get students by course one page at a time, ordered by studentId
      */
     @GetMapping("/course/{course}")
-    public List<Student> getStudentsByCourse(@PathVariable String course) {
-        return studentRepository.findByCourse(course.toUpperCase());
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<Student> getStudentsByCourse(@PathVariable String course,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "") String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(studentRepository.findByCourse(course.toUpperCase(), after, CursorPage.fetchLimit(pageSize)),
+            pageSize, Student::getStudentId);
     }
     
     /**
-     * Get students by year
+     * Get students by year one page at a time, ordered by studentId
      */
     @GetMapping("/year/{year}")
-    public List<Student> getStudentsByYear(@PathVariable Integer year) {
-        return studentRepository.findByYearOfJoining(year);
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public CursorPage<Student> getStudentsByYear(@PathVariable Integer year,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "") String after) {
+        int pageSize = CursorPage.pageSize(limit);
+        return CursorPage.of(studentRepository.findByYearOfJoining(year, after, CursorPage.fetchLimit(pageSize)),
+            pageSize, Student::getStudentId);
     }
     
     /**
@@ -8,6 +8,7 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -24,7 +25,15 @@ import com.webknot.campus.repository.EventRepository;
 import com.webknot.campus.repository.FeedbackRepository;
 import com.webknot.campus.repository.RegistrationRepository;
 import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.EventStatsService;
+import com.webknot.campus.service.ParsedQrToken;
 import com.webknot.campus.service.QRCodeService;
+import com.webknot.campus.service.QrTokenParseResult;
+import com.webknot.campus.service.QrRenderingService;
+import com.webknot.campus.service.RegistrationIndexService;
+import com.webknot.campus.service.ReportCacheService;
+import com.webknot.campus.service.ReportCacheService.Topic;
+import com.webknot.campus.service.SeatReservationService;
 
 @RestController
 @RequestMapping("/api/test")
@@ -49,6 +58,24 @@ public class TestController {
     @Autowired
     private QRCodeService qrCodeService;
     
+    @Autowired
+    private SeatReservationService seatReservationService;
+    
+    @Autowired
+    private QrRenderingService qrRenderingService;
+    
+    @Autowired
+    private RegistrationIndexService registrationIndexService;
+    
+    @Autowired
+    private EventStatsService eventStatsService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ReportCacheService reportCache;
+    
     /**
      * Create test registrations with QR codes
      */
@@ -78,14 +105,22 @@ public class TestController {
                     Optional<Registration> existing = registrationRepository
                         .findByStudentStudentIdAndEventEventId(student.getStudentId(), event.getEventId());
                     
-                    if (existing.isEmpty()) {
-                        Registration registration = new Registration(student, event);
-                        registration = registrationRepository.save(registration);
+                    if (existing.isEmpty() && seatReservationService.hold(event)) {
+                        Registration registration;
+                        try {
+                            registration = transactionTemplate.execute(status -> {
+                                Registration saved = registrationRepository.save(new Registration(student, event));
+                                seatReservationService.confirm(event.getEventId(), 1);
+                                return saved;
+                            });
+                        } catch (RuntimeException e) {
+                            seatReservationService.cancelHold(event.getEventId(), 1);
+                            throw e;
+                        }
+                        registrationIndexService.add(registration);
                         
-                        // Generate QR code
-                        String qrCode = qrCodeService.generateQRCode(registration.getQrToken());
-                        registration.setQrCode(qrCode);
-                        registrationRepository.save(registration);
+                        // Render QR code in the background
+                        qrRenderingService.submit(registration.getRegistrationId(), registration.getQrToken());
                         
                         actions.add("Registered " + student.getStudentId() + " for " + event.getEventId());
                         registrationCount++;
@@ -101,8 +136,13 @@ public class TestController {
                 
                 // Check if already attended
                 if (attendanceRepository.findByRegistrationRegistrationId(registration.getRegistrationId()).isEmpty()) {
-                    Attendance attendance = new Attendance(registration, "QR_SCAN", "admin@wku.edu");
-                    attendanceRepository.save(attendance);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        attendanceRepository.save(new Attendance(registration, "QR_SCAN", "admin@wku.edu"));
+                        if ("REGISTERED".equals(registration.getStatus())) {
+                            eventStatsService.recordCheckIns(registration.getEvent().getEventId(), 1, 0);
+                        }
+                    });
+                    registrationIndexService.markAttended(registration.getQrToken());
                     actions.add("Marked attendance for " + registration.getStudent().getStudentId() + 
                                " at " + registration.getEvent().getEventId());
                     attendanceCount++;
@@ -119,8 +159,10 @@ public class TestController {
                     int rating = (i % 2 == 0) ? 5 : 4; // Alternate between 5 and 4 star ratings
                     String comment = rating == 5 ? "Excellent event! Very informative." : "Good event, learned a lot.";
                     
-                    Feedback feedback = new Feedback(registration, rating, comment);
-                    feedbackRepository.save(feedback);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        feedbackRepository.save(new Feedback(registration, rating, comment));
+                        eventStatsService.recordFeedback(registration.getEvent().getEventId(), 1, rating);
+                    });
                     actions.add("Added feedback from " + registration.getStudent().getStudentId() + 
                                " for " + registration.getEvent().getEventId() + " (Rating: " + rating + ")");
                     feedbackCount++;
@@ -139,6 +181,9 @@ public class TestController {
             Map<String, Object> error = new HashMap<>();
             error.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(error);
+        } finally {
+            // Rows written before a failure stay committed, so invalidate either way
+            reportCache.invalidate(Topic.REGISTRATIONS, Topic.ATTENDANCE, Topic.FEEDBACK);
         }
     }
     
@@ -167,12 +212,34 @@ public class TestController {
         
         String testToken = "WKUe150925_1WKU21CS001_1694444400";
         result.put("testToken", testToken);
-        result.put("isValid", qrCodeService.isValidQRToken(testToken));
-        result.put("eventId", qrCodeService.getEventIdFromToken(testToken));
-        result.put("studentId", qrCodeService.getStudentIdFromToken(testToken));
-        result.put("timestamp", qrCodeService.getTimestampFromToken(testToken));
+        QrTokenParseResult parsed = qrCodeService.parseQrToken(testToken);
+        if (parsed instanceof ParsedQrToken token) {
+            result.put("isValid", true);
+            result.put("eventId", token.eventId());
+            result.put("studentId", token.studentId());
+            result.put("timestamp", token.epochSeconds());
+        } else if (parsed instanceof QrTokenParseResult.Invalid invalid) {
+            result.put("isValid", false);
+            result.put("invalidReason", invalid.reason());
+        }
         result.put("qrContent", qrCodeService.getQRCodeContent(testToken));
         
         return result;
     }
+    
+    /**
+     * QR image cache statistics (hits, misses, evictions, bytes)
+     */
+    @GetMapping("/qr-cache")
+    public Map<String, Object> getQrCacheStats() {
+        return qrCodeService.getImageCache().getStats();
+    }
+    
+    /**
+     * Report cache statistics (hits, stale hits, misses, invalidations)
+     */
+    @GetMapping("/report-cache")
+    public Map<String, Object> getReportCacheStats() {
+        return reportCache.getStats();
+    }
 }
@@ -0,0 +1,17 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an event's attendance export
+ */
+public record AttendanceExportRow(
+        Long attendanceId,
+        Long registrationId,
+        String studentId,
+        String firstName,
+        String lastName,
+        LocalDateTime checkInTime,
+        String checkInMethod,
+        String scannedBy) {
+}
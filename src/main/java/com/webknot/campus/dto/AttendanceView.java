@@ -0,0 +1,18 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Check-in as returned by the attendance list endpoints
+ */
+public record AttendanceView(
+        Long attendanceId,
+        Long registrationId,
+        String studentId,
+        String studentName,
+        String eventId,
+        String eventName,
+        LocalDateTime checkInTime,
+        String checkInMethod,
+        String scannedBy) {
+}
@@ -0,0 +1,32 @@
+package com.webknot.campus.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchCheckInRequest {
+    
+    private List<ScanRecord> scans = new ArrayList<>();
+    
+    // Constructors
+    public BatchCheckInRequest() {}
+    
+    public BatchCheckInRequest(List<ScanRecord> scans) {
+        this.scans = scans;
+    }
+    
+    // Getters and Setters
+    public List<ScanRecord> getScans() {
+        return scans;
+    }
+    
+    public void setScans(List<ScanRecord> scans) {
+        this.scans = scans;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchCheckInRequest{" +
+                "scans=" + (scans != null ? scans.size() : 0) +
+                '}';
+    }
+}
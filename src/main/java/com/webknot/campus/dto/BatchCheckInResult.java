@@ -0,0 +1,20 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one queued scan.
+ * Status is CHECKED_IN, ALREADY_CHECKED_IN, INVALID_TOKEN, NOT_REGISTERED, CANCELLED or FAILED.
+ */
+public record BatchCheckInResult(
+        String qrToken,
+        String status,
+        Long attendanceId,
+        String studentId,
+        String eventId,
+        LocalDateTime checkInTime) {
+    
+    public static BatchCheckInResult rejected(String qrToken, String status) {
+        return new BatchCheckInResult(qrToken, status, null, null, null, null);
+    }
+}
@@ -0,0 +1,32 @@
+package com.webknot.campus.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkRegistrationRequest {
+    
+    private List<RegistrationRequest> registrations = new ArrayList<>();
+    
+    // Constructors
+    public BulkRegistrationRequest() {}
+    
+    public BulkRegistrationRequest(List<RegistrationRequest> registrations) {
+        this.registrations = registrations;
+    }
+    
+    // Getters and Setters
+    public List<RegistrationRequest> getRegistrations() {
+        return registrations;
+    }
+    
+    public void setRegistrations(List<RegistrationRequest> registrations) {
+        this.registrations = registrations;
+    }
+    
+    @Override
+    public String toString() {
+        return "BulkRegistrationRequest{" +
+                "registrations=" + (registrations != null ? registrations.size() : 0) +
+                '}';
+    }
+}
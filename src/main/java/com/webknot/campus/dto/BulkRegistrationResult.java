@@ -0,0 +1,17 @@
+package com.webknot.campus.dto;
+
+/**
+ * Outcome of one item in a bulk registration.
+ * Status is REGISTERED, DUPLICATE, STUDENT_NOT_FOUND, EVENT_NOT_FOUND, EVENT_FULL or FAILED.
+ */
+public record BulkRegistrationResult(
+        String studentId,
+        String eventId,
+        String status,
+        Long registrationId,
+        String qrToken) {
+    
+    public static BulkRegistrationResult rejected(RegistrationRequest item, String status) {
+        return new BulkRegistrationResult(item.getStudentId(), item.getEventId(), status, null, null);
+    }
+}
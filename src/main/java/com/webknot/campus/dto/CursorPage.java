@@ -0,0 +1,40 @@
+package com.webknot.campus.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as the "after" parameter to get the
+ * next page; it is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Page size clamped to 1..MAX_LIMIT
+     */
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    /**
+     * Query limit for a page: one row more than the page, to tell whether another page follows
+     */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    /**
+     * Page from rows queried with fetchLimit(pageSize); the extra row only signals that more follow
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, ?> sortKey) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, String.valueOf(sortKey.apply(items.get(pageSize - 1))));
+    }
+}
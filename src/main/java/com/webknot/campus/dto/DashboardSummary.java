@@ -0,0 +1,19 @@
+package com.webknot.campus.dto;
+
+/**
+ * Every figure on the admin dashboard, read in one statement so they agree with each other
+ */
+public record DashboardSummary(
+        long totalEvents,
+        long totalStudents,
+        long totalRegistrations,
+        long totalAttendance,
+        long totalFeedback,
+        Double averageRating,
+        long positiveFeedback,
+        long negativeFeedback) {
+    
+    public double attendanceRate() {
+        return totalRegistrations > 0 ? totalAttendance * 100.0 / totalRegistrations : 0.0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Event matching a search, with its relevance score (higher is better)
+ */
+public record EventSearchHit(
+        String eventId,
+        String eventName,
+        String eventType,
+        LocalDate eventDate,
+        LocalTime eventTime,
+        String venue,
+        String organizerName,
+        double score) {
+
+    public EventSearchHit withScore(double newScore) {
+        return new EventSearchHit(eventId, eventName, eventType, eventDate, eventTime,
+            venue, organizerName, newScore);
+    }
+}
@@ -0,0 +1,24 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Event listing row together with its active registration count
+ */
+public record EventSummaryResponse(
+        String eventId,
+        String eventName,
+        String eventType,
+        LocalDate eventDate,
+        LocalTime eventTime,
+        String venue,
+        Integer capacity,
+        String organizerName,
+        String organizerEmail,
+        String description,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long registrationCount) {
+}
@@ -0,0 +1,16 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an event's feedback export
+ */
+public record FeedbackExportRow(
+        Long feedbackId,
+        String studentId,
+        String firstName,
+        String lastName,
+        Integer rating,
+        String comments,
+        LocalDateTime feedbackDate) {
+}
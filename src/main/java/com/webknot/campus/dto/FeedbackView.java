@@ -0,0 +1,24 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+import com.webknot.campus.entity.Feedback;
+
+/**
+ * Feedback as returned by the feedback list endpoints
+ */
+public record FeedbackView(
+        Long feedbackId,
+        Long registrationId,
+        String studentId,
+        String studentName,
+        String eventId,
+        String eventName,
+        Integer rating,
+        String comments,
+        LocalDateTime feedbackDate) {
+    
+    public String getRatingDescription() {
+        return Feedback.describeRating(rating);
+    }
+}
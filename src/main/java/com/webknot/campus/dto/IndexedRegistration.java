@@ -0,0 +1,29 @@
+package com.webknot.campus.dto;
+
+/**
+ * Compact, memory-resident view of a registration used to answer QR check-ins
+ */
+public record IndexedRegistration(
+        String qrToken,
+        Long registrationId,
+        String studentId,
+        String eventId,
+        String studentName,
+        String eventName,
+        String status,
+        boolean attended) {
+    
+    public boolean isActive() {
+        return "REGISTERED".equals(status);
+    }
+    
+    public IndexedRegistration withStatus(String newStatus) {
+        return new IndexedRegistration(qrToken, registrationId, studentId, eventId,
+            studentName, eventName, newStatus, attended);
+    }
+    
+    public IndexedRegistration withAttended(boolean newAttended) {
+        return new IndexedRegistration(qrToken, registrationId, studentId, eventId,
+            studentName, eventName, status, newAttended);
+    }
+}
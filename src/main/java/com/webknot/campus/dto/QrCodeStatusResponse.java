@@ -0,0 +1,11 @@
+package com.webknot.campus.dto;
+
+/**
+ * Rendering state of a registration's QR code: PENDING or READY (served from qrCodeUrl)
+ */
+public record QrCodeStatusResponse(
+        Long registrationId,
+        String qrToken,
+        String status,
+        String qrCodeUrl) {
+}
@@ -0,0 +1,17 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an event's registration export
+ */
+public record RegistrationExportRow(
+        Long registrationId,
+        String studentId,
+        String firstName,
+        String lastName,
+        String email,
+        String status,
+        LocalDateTime registrationDate,
+        boolean attended) {
+}
@@ -7,7 +7,7 @@ public class RegistrationResponse {
     private Long registrationId;
     private String studentId;
     private String eventId;
-    private String qrCode; // Base64 encoded QR code
+    private String qrCodeUrl; // GET endpoint serving the QR image
     private String qrToken;
     private String status;
     private LocalDateTime registrationDate;
@@ -40,12 +40,12 @@ public class RegistrationResponse {
         this.eventId = eventId;
     }
     
-    public String getQrCode() {
-        return qrCode;
+    public String getQrCodeUrl() {
+        return qrCodeUrl;
     }
     
-    public void setQrCode(String qrCode) {
-        this.qrCode = qrCode;
+    public void setQrCodeUrl(String qrCodeUrl) {
+        this.qrCodeUrl = qrCodeUrl;
     }
     
     public String getQrToken() {
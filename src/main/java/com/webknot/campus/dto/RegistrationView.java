@@ -0,0 +1,18 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registration as returned by the registration list endpoints
+ */
+public record RegistrationView(
+        Long registrationId,
+        String studentId,
+        String studentName,
+        String eventId,
+        String eventName,
+        LocalDateTime registrationDate,
+        String status,
+        String qrToken,
+        boolean attended) {
+}
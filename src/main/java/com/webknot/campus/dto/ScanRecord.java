@@ -0,0 +1,53 @@
+package com.webknot.campus.dto;
+
+import java.time.LocalDateTime;
+
+public class ScanRecord {
+    
+    private String qrToken;
+    private String scannedBy;          // Admin/scanner that captured the scan
+    private LocalDateTime scannedAt;   // Original scan time on the device
+    
+    // Constructors
+    public ScanRecord() {}
+    
+    public ScanRecord(String qrToken, String scannedBy, LocalDateTime scannedAt) {
+        this.qrToken = qrToken;
+        this.scannedBy = scannedBy;
+        this.scannedAt = scannedAt;
+    }
+    
+    // Getters and Setters
+    public String getQrToken() {
+        return qrToken;
+    }
+    
+    public void setQrToken(String qrToken) {
+        this.qrToken = qrToken;
+    }
+    
+    public String getScannedBy() {
+        return scannedBy;
+    }
+    
+    public void setScannedBy(String scannedBy) {
+        this.scannedBy = scannedBy;
+    }
+    
+    public LocalDateTime getScannedAt() {
+        return scannedAt;
+    }
+    
+    public void setScannedAt(LocalDateTime scannedAt) {
+        this.scannedAt = scannedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "ScanRecord{" +
+                "qrToken='" + qrToken + '\'' +
+                ", scannedBy='" + scannedBy + '\'' +
+                ", scannedAt=" + scannedAt +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.webknot.campus.dto;
+
+/**
+ * Compact, memory-resident view of a student used for typeahead lookups
+ */
+public record StudentSuggestion(
+        String studentId,
+        String firstName,
+        String lastName,
+        String email,
+        String course,
+        Integer yearOfJoining) {
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Pattern;
 
 @Entity
@@ -20,7 +21,10 @@ import jakarta.validation.constraints.Pattern;
 public class Attendance {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "attendance_id_gen")
+    @TableGenerator(name = "attendance_id_gen", table = "id_generators",
+                    pkColumnName = "gen_name", valueColumnName = "gen_value",
+                    pkColumnValue = "attendance", allocationSize = 50) // Pooled IDs keep JDBC batching on
     @Column(name = "attendance_id")
     private Long attendanceId;
     
@@ -65,6 +69,16 @@ public class Attendance {
         this.scannedBy = scannedBy;
     }
     
+    public Attendance(Registration registration, Student student, Event event, String checkInMethod, String scannedBy) {
+        this();
+        // Set directly so uninitialized references (getReferenceById) are never loaded
+        this.registration = registration;
+        this.student = student;
+        this.event = event;
+        this.checkInMethod = checkInMethod;
+        this.scannedBy = scannedBy;
+    }
+    
     @PrePersist
     protected void onCreate() {
         if (checkInTime == null) {
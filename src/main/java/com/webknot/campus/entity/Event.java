@@ -6,6 +6,7 @@ import java.time.LocalTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -77,6 +78,10 @@ public class Event {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Column(name = "registered_count", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer registeredCount = 0; // Seats taken, maintained by SeatReservationService
+    
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Registration> registrations;
@@ -132,16 +137,6 @@ public class Event {
         return "WKUe" + day + month + year + hour + minute + timestamp;
     }
     
-    // Helper method to get current registration count
-    public int getCurrentRegistrationCount() {
-        if (registrations == null) {
-            return 0;
-        }
-        return (int) registrations.stream()
-                .filter(registration -> "REGISTERED".equals(registration.getStatus()))
-                .count();
-    }
-    
     // Getters and Setters
     public String getEventId() { return eventId; }
     public void setEventId(String eventId) { this.eventId = eventId; }
@@ -179,14 +174,15 @@ public class Event {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Integer getRegisteredCount() { return registeredCount; }
+    public void setRegisteredCount(Integer registeredCount) { this.registeredCount = registeredCount; }
+    
     public List<Registration> getRegistrations() { return registrations; }
     public void setRegistrations(List<Registration> registrations) { this.registrations = registrations; }
     
     // Helper methods
     public int getCurrentRegistrationCount() {
-        return registrations != null ? (int) registrations.stream()
-                .filter(reg -> "REGISTERED".equals(reg.getStatus()))
-                .count() : 0;
+        return registeredCount != null ? registeredCount : 0;
     }
     
     public boolean isFullyBooked() {
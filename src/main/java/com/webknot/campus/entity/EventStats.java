@@ -0,0 +1,79 @@
+package com.webknot.campus.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-event rollup of check-ins and feedback, kept current by every write so event reports never have
+ * to aggregate over the full history (active registrations are Event.registeredCount)
+ */
+@Entity
+@Table(name = "event_stats")
+public class EventStats {
+    
+    @Id
+    @Column(name = "event_id", length = 20)
+    private String eventId;
+    
+    @Column(name = "attendance", nullable = false)
+    private Long attendance = 0L; // Check-ins of active registrations
+    
+    @Column(name = "qr_check_ins", nullable = false)
+    private Long qrCheckIns = 0L;
+    
+    @Column(name = "manual_check_ins", nullable = false)
+    private Long manualCheckIns = 0L;
+    
+    @Column(name = "feedback_count", nullable = false)
+    private Long feedbackCount = 0L;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+    
+    // Constructors
+    public EventStats() {}
+    
+    public EventStats(String eventId) {
+        this.eventId = eventId;
+    }
+    
+    public EventStats(String eventId, Long attendance, Long qrCheckIns, Long manualCheckIns,
+                      Long feedbackCount, Long ratingSum) {
+        this.eventId = eventId;
+        this.attendance = attendance;
+        this.qrCheckIns = qrCheckIns;
+        this.manualCheckIns = manualCheckIns;
+        this.feedbackCount = feedbackCount;
+        this.ratingSum = ratingSum;
+    }
+    
+    // Getters and Setters
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+    
+    public Long getAttendance() { return attendance; }
+    public void setAttendance(Long attendance) { this.attendance = attendance; }
+    
+    public Long getQrCheckIns() { return qrCheckIns; }
+    public void setQrCheckIns(Long qrCheckIns) { this.qrCheckIns = qrCheckIns; }
+    
+    public Long getManualCheckIns() { return manualCheckIns; }
+    public void setManualCheckIns(Long manualCheckIns) { this.manualCheckIns = manualCheckIns; }
+    
+    public Long getFeedbackCount() { return feedbackCount; }
+    public void setFeedbackCount(Long feedbackCount) { this.feedbackCount = feedbackCount; }
+    
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+    
+    @Override
+    public String toString() {
+        return "EventStats{" +
+                "eventId='" + eventId + '\'' +
+                ", attendance=" + attendance +
+                ", feedbackCount=" + feedbackCount +
+                '}';
+    }
+}
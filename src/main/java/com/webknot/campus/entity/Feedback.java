@@ -13,6 +13,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
@@ -22,7 +23,10 @@ import jakarta.validation.constraints.Size;
 public class Feedback {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_id_gen")
+    @TableGenerator(name = "feedback_id_gen", table = "id_generators",
+                    pkColumnName = "gen_name", valueColumnName = "gen_value",
+                    pkColumnValue = "feedback", allocationSize = 50) // Pooled IDs keep JDBC batching on
     @Column(name = "feedback_id")
     private Long feedbackId;
     
@@ -64,6 +68,16 @@ public class Feedback {
         this.comments = comments;
     }
     
+    public Feedback(Registration registration, Student student, Event event, Integer rating, String comments) {
+        this();
+        // Set directly so uninitialized references (getReferenceById) are never loaded
+        this.registration = registration;
+        this.student = student;
+        this.event = event;
+        this.rating = rating;
+        this.comments = comments;
+    }
+    
     @PrePersist
     protected void onCreate() {
         if (feedbackDate == null) {
@@ -109,6 +123,10 @@ public class Feedback {
     }
     
     public String getRatingDescription() {
+        return describeRating(rating);
+    }
+    
+    public static String describeRating(Integer rating) {
         if (rating == null) return "No rating";
         return switch (rating) {
             case 1 -> "Very Poor";
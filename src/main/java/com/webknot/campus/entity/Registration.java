@@ -16,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Pattern;
 
@@ -25,7 +26,10 @@ import jakarta.validation.constraints.Pattern;
 public class Registration {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "registration_id_gen")
+    @TableGenerator(name = "registration_id_gen", table = "id_generators",
+                    pkColumnName = "gen_name", valueColumnName = "gen_value",
+                    pkColumnValue = "registrations", allocationSize = 50) // Pooled IDs keep JDBC batching on
     @Column(name = "registration_id")
     private Long registrationId;
     
@@ -42,9 +46,6 @@ public class Registration {
     @Column(name = "registration_date")
     private LocalDateTime registrationDate;
     
-    @Column(name = "qr_code", length = 2000)
-    private String qrCode; // Base64 encoded QR code
-    
     @Column(name = "qr_token", length = 100, unique = true, nullable = false)
     private String qrToken; // Unique token for QR scanning
     
@@ -101,9 +102,6 @@ public class Registration {
     public LocalDateTime getRegistrationDate() { return registrationDate; }
     public void setRegistrationDate(LocalDateTime registrationDate) { this.registrationDate = registrationDate; }
     
-    public String getQrCode() { return qrCode; }
-    public void setQrCode(String qrCode) { this.qrCode = qrCode; }
-    
     public String getQrToken() { return qrToken; }
     public void setQrToken(String qrToken) { this.qrToken = qrToken; }
     
@@ -1,27 +1,51 @@
 package com.webknot.campus.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webknot.campus.dto.AttendanceExportRow;
+import com.webknot.campus.dto.AttendanceView;
 import com.webknot.campus.entity.Attendance;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
+    // Flat view for the list endpoints: one query, no entity graph to serialize
+    String VIEW_SELECT = "SELECT new com.webknot.campus.dto.AttendanceView(" +
+           "a.attendanceId, a.registration.registrationId, s.studentId, CONCAT(s.firstName, ' ', s.lastName), " +
+           "e.eventId, e.eventName, a.checkInTime, a.checkInMethod, a.scannedBy) " +
+           "FROM Attendance a JOIN a.student s JOIN a.event e ";
+    
+    // Keyset pages (see CursorPage)
+    @Query(VIEW_SELECT + "WHERE a.attendanceId > :after ORDER BY a.attendanceId ASC")
+    List<AttendanceView> findViewsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE a.attendanceId < :before ORDER BY a.attendanceId DESC")
+    List<AttendanceView> findViewsBefore(@Param("before") Long before, Limit limit);
+    
     // Find by registration ID
     Optional<Attendance> findByRegistrationRegistrationId(Long registrationId);
     
     // Find by student ID
-    List<Attendance> findByStudentStudentId(String studentId);
+    @Query(VIEW_SELECT + "WHERE s.studentId = :studentId AND a.attendanceId > :after ORDER BY a.attendanceId")
+    List<AttendanceView> findViewsByStudent(@Param("studentId") String studentId, @Param("after") Long after, Limit limit);
     
     // Find by event ID
-    List<Attendance> findByEventEventId(String eventId);
+    @Query(VIEW_SELECT + "WHERE e.eventId = :eventId AND a.attendanceId > :after ORDER BY a.attendanceId")
+    List<AttendanceView> findViewsByEvent(@Param("eventId") String eventId, @Param("after") Long after, Limit limit);
     
     // Find by check-in method
     List<Attendance> findByCheckInMethod(String checkInMethod);
@@ -77,4 +101,19 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
            "WHERE a.checkInTime >= :since " +
            "ORDER BY a.checkInTime DESC")
     List<Attendance> findRecentCheckIns(@Param("since") LocalDateTime since);
+    
+    // Which of the given registrations already have attendance
+    @Query("SELECT a.registration.registrationId FROM Attendance a " +
+           "WHERE a.registration.registrationId IN :registrationIds")
+    List<Long> findRegistrationIdsWithAttendance(@Param("registrationIds") Collection<Long> registrationIds);
+    
+    // Attendance export rows for one event, streamed with a JDBC fetch size (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.webknot.campus.dto.AttendanceExportRow(" +
+           "a.attendanceId, a.registration.registrationId, s.studentId, s.firstName, s.lastName, " +
+           "a.checkInTime, a.checkInMethod, a.scannedBy) " +
+           "FROM Attendance a JOIN a.student s " +
+           "WHERE a.event.eventId = :eventId " +
+           "ORDER BY a.attendanceId")
+    Stream<AttendanceExportRow> streamExportRowsByEvent(@Param("eventId") String eventId);
 }
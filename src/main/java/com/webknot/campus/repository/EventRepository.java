@@ -1,20 +1,40 @@
 package com.webknot.campus.repository;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.webknot.campus.dto.DashboardSummary;
+import com.webknot.campus.dto.EventSummaryResponse;
 import com.webknot.campus.entity.Event;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, String> {
     
-    // Find by event type
-    List<Event> findByEventType(String eventType);
+    // Listing row with the active registration count (the durable seat counter)
+    String SUMMARY_SELECT = "SELECT new com.webknot.campus.dto.EventSummaryResponse(" +
+           "e.eventId, e.eventName, e.eventType, e.eventDate, e.eventTime, e.venue, e.capacity, " +
+           "e.organizerName, e.organizerEmail, e.description, e.createdAt, e.updatedAt, " +
+           "CAST(e.registeredCount AS Long)) " +
+           "FROM Event e ";
+    
+    // Keyset condition for lists in schedule order (date, time, then eventId to break ties)
+    String AFTER_SCHEDULE_POSITION = "(e.eventDate > :date OR (e.eventDate = :date AND " +
+           "(e.eventTime > :time OR (e.eventTime = :time AND e.eventId > :eventId)))) ";
+    
+    String SCHEDULE_ORDER = "ORDER BY e.eventDate ASC, e.eventTime ASC, e.eventId ASC";
+    
+    // Find by event type, ordered by eventId
+    @Query("SELECT e FROM Event e WHERE e.eventType = :eventType AND e.eventId > :after ORDER BY e.eventId")
+    List<Event> findByEventType(@Param("eventType") String eventType, @Param("after") String after, Limit limit);
     
     // Find by event date
     List<Event> findByEventDate(LocalDate eventDate);
@@ -22,9 +42,14 @@ public interface EventRepository extends JpaRepository<Event, String> {
     // Find events between dates
     List<Event> findByEventDateBetween(LocalDate startDate, LocalDate endDate);
     
-    // Find upcoming events
-    @Query("SELECT e FROM Event e WHERE e.eventDate >= CURRENT_DATE ORDER BY e.eventDate ASC")
-    List<Event> findUpcomingEvents();
+    // Find upcoming events in schedule order, one keyset page at a time. Today is a parameter rather than
+    // CURRENT_DATE, which SQLite compares as text against the stored epoch values
+    @Query("SELECT e FROM Event e WHERE e.eventDate >= :today " + SCHEDULE_ORDER)
+    List<Event> findUpcomingEvents(@Param("today") LocalDate today, Limit limit);
+    
+    @Query("SELECT e FROM Event e WHERE e.eventDate >= :today AND " + AFTER_SCHEDULE_POSITION + SCHEDULE_ORDER)
+    List<Event> findUpcomingEventsAfter(@Param("today") LocalDate today, @Param("date") LocalDate date,
+                                        @Param("time") LocalTime time, @Param("eventId") String eventId, Limit limit);
     
     // Find past events
     @Query("SELECT e FROM Event e WHERE e.eventDate < CURRENT_DATE ORDER BY e.eventDate DESC")
@@ -33,11 +58,11 @@ public interface EventRepository extends JpaRepository<Event, String> {
     // Find events by organizer
     List<Event> findByOrganizerEmail(String organizerEmail);
     
-    // Find events with available slots
+    // Find events with available slots (from the durable seat counter), ordered by eventId
     @Query("SELECT e FROM Event e " +
-           "WHERE e.capacity > " +
-           "(SELECT COUNT(r) FROM Registration r WHERE r.event = e AND r.status = 'REGISTERED')")
-    List<Event> findEventsWithAvailableSlots();
+           "WHERE e.registeredCount < e.capacity " +
+           "AND e.eventId > :after ORDER BY e.eventId")
+    List<Event> findEventsWithAvailableSlots(@Param("after") String after, Limit limit);
     
     // Get events ordered by registration count (popularity)
     @Query("SELECT e FROM Event e " +
@@ -47,52 +72,84 @@ public interface EventRepository extends JpaRepository<Event, String> {
            "ORDER BY COUNT(r) DESC")
     List<Event> findEventsOrderByPopularity();
     
-    // Get events by type ordered by popularity
-    @Query("SELECT e FROM Event e " +
-           "LEFT JOIN e.registrations r " +
-           "WHERE e.eventType = :eventType AND (r.status = 'REGISTERED' OR r.status IS NULL) " +
-           "GROUP BY e " +
-           "ORDER BY COUNT(r) DESC")
-    List<Event> findEventsByTypeOrderByPopularity(@Param("eventType") String eventType);
+    // Get events of one type with their registration counts, most popular first (from the seat counter)
+    @Query("SELECT e.eventId, e.eventName, e.eventType, e.registeredCount as registrationCount " +
+           "FROM Event e " +
+           "WHERE e.eventType = :eventType " +
+           "ORDER BY registrationCount DESC")
+    List<Object[]> getEventRegistrationCountsByType(@Param("eventType") String eventType);
     
-    // Get registration count for each event
-    @Query("SELECT e.eventId, e.eventName, COUNT(r) as registrationCount " +
+    // Get registration count for each event (from the seat counter)
+    @Query("SELECT e.eventId, e.eventName, e.registeredCount as registrationCount " +
            "FROM Event e " +
-           "LEFT JOIN e.registrations r " +
-           "WHERE r.status = 'REGISTERED' OR r.status IS NULL " +
-           "GROUP BY e.eventId, e.eventName " +
-           "ORDER BY COUNT(r) DESC")
+           "ORDER BY registrationCount DESC")
     List<Object[]> getEventRegistrationCounts();
     
-    // Get attendance percentage for events
+    // Get events with their active registration counts in schedule order, one keyset page at a time
+    @Query(SUMMARY_SELECT + SCHEDULE_ORDER)
+    List<EventSummaryResponse> findSummaries(Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE " + AFTER_SCHEDULE_POSITION + SCHEDULE_ORDER)
+    List<EventSummaryResponse> findSummariesAfter(@Param("date") LocalDate date, @Param("time") LocalTime time,
+                                                  @Param("eventId") String eventId, Limit limit);
+    
+    // Get attendance percentage and check-ins by method for events (seat counter and event_stats rollup)
     @Query("SELECT e.eventId, e.eventName, " +
-           "COUNT(r) as totalRegistrations, " +
-           "COUNT(a) as totalAttendance, " +
-           "CASE WHEN COUNT(r) > 0 THEN (COUNT(a) * 100.0 / COUNT(r)) ELSE 0 END as attendancePercentage " +
+           "e.registeredCount as totalRegistrations, " +
+           "COALESCE(s.attendance, 0) as totalAttendance, " +
+           "CASE WHEN e.registeredCount > 0 THEN (COALESCE(s.attendance, 0) * 100.0 / e.registeredCount) ELSE 0.0 END as attendancePercentage, " +
+           "COALESCE(s.qrCheckIns, 0), COALESCE(s.manualCheckIns, 0) " +
            "FROM Event e " +
-           "LEFT JOIN e.registrations r ON r.status = 'REGISTERED' " +
-           "LEFT JOIN r.attendance a " +
-           "GROUP BY e.eventId, e.eventName " +
+           "LEFT JOIN EventStats s ON s.eventId = e.eventId " +
            "ORDER BY attendancePercentage DESC")
     List<Object[]> getEventAttendanceStats();
     
-    // Get average feedback score for events
+    // Per event type totals for every type present (seat counter and event_stats rollup)
+    @Query("SELECT e.eventType, COUNT(e) as eventCount, " +
+           "COALESCE(SUM(e.registeredCount), 0), COALESCE(SUM(s.attendance), 0), " +
+           "COALESCE(SUM(s.feedbackCount), 0), COALESCE(SUM(s.ratingSum), 0) " +
+           "FROM Event e " +
+           "LEFT JOIN EventStats s ON s.eventId = e.eventId " +
+           "GROUP BY e.eventType " +
+           "ORDER BY eventCount DESC, e.eventType ASC")
+    List<Object[]> getEventTypeStats();
+    
+    // Get average feedback score for events (from the event_stats rollup)
     @Query("SELECT e.eventId, e.eventName, " +
-           "AVG(f.rating) as averageRating, " +
-           "COUNT(f) as feedbackCount " +
+           "CASE WHEN s.feedbackCount > 0 THEN (s.ratingSum * 1.0 / s.feedbackCount) ELSE NULL END as averageRating, " +
+           "COALESCE(s.feedbackCount, 0) as feedbackCount " +
            "FROM Event e " +
-           "LEFT JOIN e.registrations r " +
-           "LEFT JOIN r.feedback f " +
-           "GROUP BY e.eventId, e.eventName " +
+           "LEFT JOIN EventStats s ON s.eventId = e.eventId " +
            "ORDER BY averageRating DESC")
     List<Object[]> getEventFeedbackStats();
     
-    // Search events by name
-    @Query("SELECT e FROM Event e " +
-           "WHERE LOWER(e.eventName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Event> searchByEventName(@Param("name") String name);
+    // Dashboard totals as scalar subqueries of a single statement (no FROM needed in HQL)
+    @Query("SELECT new com.webknot.campus.dto.DashboardSummary(" +
+           "(SELECT COUNT(e) FROM Event e), " +
+           "(SELECT COUNT(s) FROM Student s), " +
+           "(SELECT COUNT(r) FROM Registration r), " +
+           "(SELECT COUNT(a) FROM Attendance a), " +
+           "(SELECT COUNT(f) FROM Feedback f), " +
+           "(SELECT AVG(f.rating) FROM Feedback f), " +
+           "(SELECT COUNT(f) FROM Feedback f WHERE f.rating >= 4), " +
+           "(SELECT COUNT(f) FROM Feedback f WHERE f.rating <= 2))")
+    DashboardSummary getDashboardSummary();
     
     // Count active registrations by event
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.event.eventId = :eventId AND r.status = 'REGISTERED'")
     Long countActiveRegistrationsByEvent(@Param("eventId") String eventId);
+    
+    // Atomically take seats, only if they still fit within capacity
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount + :seats " +
+           "WHERE e.eventId = :eventId AND e.registeredCount + :seats <= e.capacity")
+    int reserveSeats(@Param("eventId") String eventId, @Param("seats") int seats);
+    
+    // Atomically give seats back, never going below zero
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.registeredCount = e.registeredCount - :seats " +
+           "WHERE e.eventId = :eventId AND e.registeredCount >= :seats")
+    int releaseSeats(@Param("eventId") String eventId, @Param("seats") int seats);
 }
@@ -0,0 +1,63 @@
+package com.webknot.campus.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webknot.campus.entity.EventStats;
+
+@Repository
+public interface EventStatsRepository extends JpaRepository<EventStats, String> {
+    
+    // Adjust attendance together with the per-method check-in counts
+    @Modifying
+    @Query("UPDATE EventStats s SET s.attendance = s.attendance + :qrScans + :manual, " +
+           "s.qrCheckIns = s.qrCheckIns + :qrScans, s.manualCheckIns = s.manualCheckIns + :manual " +
+           "WHERE s.eventId = :eventId")
+    int addCheckIns(@Param("eventId") String eventId, @Param("qrScans") long qrScans, @Param("manual") long manual);
+    
+    // Adjust the feedback count and rating sum
+    @Modifying
+    @Query("UPDATE EventStats s SET s.feedbackCount = s.feedbackCount + :count, s.ratingSum = s.ratingSum + :ratingSum " +
+           "WHERE s.eventId = :eventId")
+    int addFeedback(@Param("eventId") String eventId, @Param("count") long count, @Param("ratingSum") long ratingSum);
+    
+    // Create the rollup row unless another transaction already has (SQLite and PostgreSQL both accept ON CONFLICT)
+    @Modifying
+    @Query(value = "INSERT INTO event_stats (event_id, attendance, qr_check_ins, manual_check_ins, " +
+                   "feedback_count, rating_sum) " +
+                   "VALUES (:eventId, :attendance, :qrCheckIns, :manualCheckIns, :feedbackCount, :ratingSum) " +
+                   "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("attendance") long attendance, @Param("qrCheckIns") long qrCheckIns,
+                       @Param("manualCheckIns") long manualCheckIns, @Param("feedbackCount") long feedbackCount,
+                       @Param("ratingSum") long ratingSum);
+    
+    // Recompute every event's rollup from the base tables (startup backfill)
+    @Query("SELECT new com.webknot.campus.entity.EventStats(e.eventId, " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED'), " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED' " +
+           "AND a.checkInMethod = 'QR_SCAN'), " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED' " +
+           "AND a.checkInMethod = 'MANUAL'), " +
+           "(SELECT COUNT(f) FROM Feedback f WHERE f.event = e), " +
+           "(SELECT COALESCE(SUM(f.rating), 0) FROM Feedback f WHERE f.event = e)) " +
+           "FROM Event e")
+    List<EventStats> computeAll();
+    
+    // Recompute one event's rollup from the base tables (row missing)
+    @Query("SELECT new com.webknot.campus.entity.EventStats(e.eventId, " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED'), " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED' " +
+           "AND a.checkInMethod = 'QR_SCAN'), " +
+           "(SELECT COUNT(a) FROM Attendance a WHERE a.event = e AND a.registration.status = 'REGISTERED' " +
+           "AND a.checkInMethod = 'MANUAL'), " +
+           "(SELECT COUNT(f) FROM Feedback f WHERE f.event = e), " +
+           "(SELECT COALESCE(SUM(f.rating), 0) FROM Feedback f WHERE f.event = e)) " +
+           "FROM Event e WHERE e.eventId = :eventId")
+    EventStats computeForEvent(@Param("eventId") String eventId);
+}
@@ -2,25 +2,48 @@ package com.webknot.campus.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webknot.campus.dto.FeedbackExportRow;
+import com.webknot.campus.dto.FeedbackView;
 import com.webknot.campus.entity.Feedback;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     
+    // Flat view for the list endpoints: one query, no entity graph to serialize
+    String VIEW_SELECT = "SELECT new com.webknot.campus.dto.FeedbackView(" +
+           "f.feedbackId, f.registration.registrationId, s.studentId, CONCAT(s.firstName, ' ', s.lastName), " +
+           "e.eventId, e.eventName, f.rating, f.comments, f.feedbackDate) " +
+           "FROM Feedback f JOIN f.student s JOIN f.event e ";
+    
+    // Keyset pages (see CursorPage)
+    @Query(VIEW_SELECT + "WHERE f.feedbackId > :after ORDER BY f.feedbackId ASC")
+    List<FeedbackView> findViewsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE f.feedbackId < :before ORDER BY f.feedbackId DESC")
+    List<FeedbackView> findViewsBefore(@Param("before") Long before, Limit limit);
+    
     // Find by registration ID
     Optional<Feedback> findByRegistrationRegistrationId(Long registrationId);
     
     // Find by student ID
-    List<Feedback> findByStudentStudentId(String studentId);
+    @Query(VIEW_SELECT + "WHERE s.studentId = :studentId AND f.feedbackId > :after ORDER BY f.feedbackId")
+    List<FeedbackView> findViewsByStudent(@Param("studentId") String studentId, @Param("after") Long after, Limit limit);
     
     // Find by event ID
-    List<Feedback> findByEventEventId(String eventId);
+    @Query(VIEW_SELECT + "WHERE e.eventId = :eventId AND f.feedbackId > :after ORDER BY f.feedbackId")
+    List<FeedbackView> findViewsByEvent(@Param("eventId") String eventId, @Param("after") Long after, Limit limit);
     
     // Find by rating
     List<Feedback> findByRating(Integer rating);
@@ -53,12 +76,12 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Object[]> getEventsWithHighestRatings(@Param("minFeedbackCount") Long minFeedbackCount);
     
     // Get positive feedback (rating >= 4)
-    @Query("SELECT f FROM Feedback f WHERE f.rating >= 4")
-    List<Feedback> getPositiveFeedback();
+    @Query(VIEW_SELECT + "WHERE f.rating >= 4 AND f.feedbackId > :after ORDER BY f.feedbackId")
+    List<FeedbackView> getPositiveFeedback(@Param("after") Long after, Limit limit);
     
     // Get negative feedback (rating <= 2)
-    @Query("SELECT f FROM Feedback f WHERE f.rating <= 2")
-    List<Feedback> getNegativeFeedback();
+    @Query(VIEW_SELECT + "WHERE f.rating <= 2 AND f.feedbackId > :after ORDER BY f.feedbackId")
+    List<FeedbackView> getNegativeFeedback(@Param("after") Long after, Limit limit);
     
     // Get feedback with comments
     @Query("SELECT f FROM Feedback f WHERE f.comments IS NOT NULL AND TRIM(f.comments) != ''")
@@ -94,4 +117,13 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     // Get feedback by event type
     @Query("SELECT f FROM Feedback f WHERE f.event.eventType = :eventType")
     List<Feedback> findByEventType(@Param("eventType") String eventType);
+    
+    // Feedback export rows for one event, streamed with a JDBC fetch size (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.webknot.campus.dto.FeedbackExportRow(" +
+           "f.feedbackId, s.studentId, s.firstName, s.lastName, f.rating, f.comments, f.feedbackDate) " +
+           "FROM Feedback f JOIN f.student s " +
+           "WHERE f.event.eventId = :eventId " +
+           "ORDER BY f.feedbackId")
+    Stream<FeedbackExportRow> streamExportRowsByEvent(@Param("eventId") String eventId);
 }
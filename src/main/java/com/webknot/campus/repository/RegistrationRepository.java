@@ -1,26 +1,58 @@
 package com.webknot.campus.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.webknot.campus.dto.IndexedRegistration;
+import com.webknot.campus.dto.RegistrationExportRow;
+import com.webknot.campus.dto.RegistrationView;
 import com.webknot.campus.entity.Registration;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     
+    // Flat view for the list endpoints: one query, no entity graph to serialize
+    String VIEW_SELECT = "SELECT new com.webknot.campus.dto.RegistrationView(" +
+           "r.registrationId, s.studentId, CONCAT(s.firstName, ' ', s.lastName), e.eventId, e.eventName, " +
+           "r.registrationDate, r.status, r.qrToken, " +
+           "CASE WHEN a.attendanceId IS NULL THEN false ELSE true END) " +
+           "FROM Registration r JOIN r.student s JOIN r.event e LEFT JOIN r.attendance a ";
+    
+    // Keyset pages (see CursorPage)
+    @Query(VIEW_SELECT + "WHERE r.registrationId > :after ORDER BY r.registrationId ASC")
+    List<RegistrationView> findViewsAfter(@Param("after") Long after, Limit limit);
+    
+    @Query(VIEW_SELECT + "WHERE r.registrationId < :before ORDER BY r.registrationId DESC")
+    List<RegistrationView> findViewsBefore(@Param("before") Long before, Limit limit);
+    
+    // Find view by QR token
+    @Query(VIEW_SELECT + "WHERE r.qrToken = :qrToken")
+    Optional<RegistrationView> findViewByQrToken(@Param("qrToken") String qrToken);
+    
     // Find by QR token (for attendance scanning)
     Optional<Registration> findByQrToken(String qrToken);
     
     // Find by student ID
-    List<Registration> findByStudentStudentId(String studentId);
+    @Query(VIEW_SELECT + "WHERE s.studentId = :studentId AND r.registrationId > :after ORDER BY r.registrationId")
+    List<RegistrationView> findViewsByStudent(@Param("studentId") String studentId, @Param("after") Long after, Limit limit);
     
     // Find by event ID
-    List<Registration> findByEventEventId(String eventId);
+    @Query(VIEW_SELECT + "WHERE e.eventId = :eventId AND r.registrationId > :after ORDER BY r.registrationId")
+    List<RegistrationView> findViewsByEvent(@Param("eventId") String eventId, @Param("after") Long after, Limit limit);
     
     // Find by student and event
     Optional<Registration> findByStudentStudentIdAndEventEventId(String studentId, String eventId);
@@ -45,10 +77,10 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     boolean isStudentRegisteredForEvent(@Param("studentId") String studentId, @Param("eventId") String eventId);
     
     // Get registrations with attendance status
-    @Query("SELECT r FROM Registration r " +
-           "LEFT JOIN FETCH r.attendance " +
-           "WHERE r.event.eventId = :eventId AND r.status = 'REGISTERED'")
-    List<Registration> findRegistrationsWithAttendanceByEvent(@Param("eventId") String eventId);
+    @Query(VIEW_SELECT + "WHERE e.eventId = :eventId AND r.status = 'REGISTERED' AND r.registrationId > :after " +
+           "ORDER BY r.registrationId")
+    List<RegistrationView> findRegistrationsWithAttendanceByEvent(@Param("eventId") String eventId,
+                                                                  @Param("after") Long after, Limit limit);
     
     // Get registrations without attendance (who didn't show up)
     @Query("SELECT r FROM Registration r " +
@@ -74,4 +106,55 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     @Query("SELECT r FROM Registration r " +
            "WHERE r.event.eventType = :eventType AND r.status = 'REGISTERED'")
     List<Registration> findByEventType(@Param("eventType") String eventType);
+    
+    // Cancel an active registration (returns 0 if it was already cancelled)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Registration r SET r.status = 'CANCELLED' " +
+           "WHERE r.registrationId = :registrationId AND r.status = 'REGISTERED'")
+    int cancelRegistration(@Param("registrationId") Long registrationId);
+    
+    // Get only the QR token of a registration (for rendering its QR image)
+    @Query("SELECT r.qrToken FROM Registration r WHERE r.registrationId = :registrationId")
+    Optional<String> findQrTokenById(@Param("registrationId") Long registrationId);
+    
+    // Existing student/event pairs among the given students and events (any status)
+    @Query("SELECT r.student.studentId, r.event.eventId FROM Registration r " +
+           "WHERE r.student.studentId IN :studentIds AND r.event.eventId IN :eventIds")
+    List<Object[]> findStudentEventPairs(@Param("studentIds") Collection<String> studentIds,
+                                         @Param("eventIds") Collection<String> eventIds);
+    
+    // Resolve many QR tokens at once, with student and event loaded
+    @Query("SELECT r FROM Registration r " +
+           "JOIN FETCH r.student " +
+           "JOIN FETCH r.event " +
+           "WHERE r.qrToken IN :qrTokens")
+    List<Registration> findByQrTokenIn(@Param("qrTokens") Collection<String> qrTokens);
+    
+    // Compact rows for the in-memory QR token index
+    @Query("SELECT new com.webknot.campus.dto.IndexedRegistration(" +
+           "r.qrToken, r.registrationId, s.studentId, e.eventId, " +
+           "CONCAT(s.firstName, ' ', s.lastName), e.eventName, r.status, " +
+           "CASE WHEN a.attendanceId IS NULL THEN false ELSE true END) " +
+           "FROM Registration r JOIN r.student s JOIN r.event e LEFT JOIN r.attendance a")
+    List<IndexedRegistration> findAllIndexed();
+    
+    // Compact row for one QR token (index miss)
+    @Query("SELECT new com.webknot.campus.dto.IndexedRegistration(" +
+           "r.qrToken, r.registrationId, s.studentId, e.eventId, " +
+           "CONCAT(s.firstName, ' ', s.lastName), e.eventName, r.status, " +
+           "CASE WHEN a.attendanceId IS NULL THEN false ELSE true END) " +
+           "FROM Registration r JOIN r.student s JOIN r.event e LEFT JOIN r.attendance a " +
+           "WHERE r.qrToken = :qrToken")
+    Optional<IndexedRegistration> findIndexedByQrToken(@Param("qrToken") String qrToken);
+    
+    // Registration export rows for one event, streamed with a JDBC fetch size (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.webknot.campus.dto.RegistrationExportRow(" +
+           "r.registrationId, s.studentId, s.firstName, s.lastName, s.email, r.status, r.registrationDate, " +
+           "CASE WHEN a.attendanceId IS NULL THEN false ELSE true END) " +
+           "FROM Registration r JOIN r.student s LEFT JOIN r.attendance a " +
+           "WHERE r.event.eventId = :eventId " +
+           "ORDER BY r.registrationId")
+    Stream<RegistrationExportRow> streamExportRowsByEvent(@Param("eventId") String eventId);
 }
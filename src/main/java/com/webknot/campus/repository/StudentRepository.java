@@ -3,24 +3,38 @@ package com.webknot.campus.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webknot.campus.dto.StudentSuggestion;
 import com.webknot.campus.entity.Student;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, String> {
     
+    // Keyset pages ordered by studentId (see CursorPage)
+    @Query("SELECT s FROM Student s WHERE s.studentId > :after ORDER BY s.studentId ASC")
+    List<Student> findPageAfter(@Param("after") String after, Limit limit);
+    
+    @Query("SELECT s FROM Student s WHERE s.studentId < :before ORDER BY s.studentId DESC")
+    List<Student> findPageBefore(@Param("before") String before, Limit limit);
+    
+    // First page of the descending order
+    List<Student> findAllByOrderByStudentIdDesc(Limit limit);
+    
     // Find by email
     Optional<Student> findByEmail(String email);
     
-    // Find by course
-    List<Student> findByCourse(String course);
+    // Find by course, ordered by studentId
+    @Query("SELECT s FROM Student s WHERE s.course = :course AND s.studentId > :after ORDER BY s.studentId")
+    List<Student> findByCourse(@Param("course") String course, @Param("after") String after, Limit limit);
     
-    // Find by year of joining
-    List<Student> findByYearOfJoining(Integer year);
+    // Find by year of joining, ordered by studentId
+    @Query("SELECT s FROM Student s WHERE s.yearOfJoining = :year AND s.studentId > :after ORDER BY s.studentId")
+    List<Student> findByYearOfJoining(@Param("year") Integer year, @Param("after") String after, Limit limit);
     
     // Find by course and year
     List<Student> findByCourseAndYearOfJoining(String course, Integer year);
@@ -63,9 +77,9 @@ public interface StudentRepository extends JpaRepository<Student, String> {
            "ORDER BY COUNT(a) DESC")
     List<Student> findStudentsByMinAttendance(@Param("minAttendance") int minAttendance);
     
-    // Search students by name (first or last name)
-    @Query("SELECT s FROM Student s " +
-           "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) " +
-           "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
-    List<Student> searchByName(@Param("name") String name);
+    // Compact rows for the in-memory typeahead index
+    @Query("SELECT new com.webknot.campus.dto.StudentSuggestion(" +
+           "s.studentId, s.firstName, s.lastName, s.email, s.course, s.yearOfJoining) " +
+           "FROM Student s")
+    List<StudentSuggestion> findAllSuggestions();
 }
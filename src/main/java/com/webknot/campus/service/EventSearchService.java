@@ -0,0 +1,215 @@
+package com.webknot.campus.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.EventSearchHit;
+import com.webknot.campus.entity.Event;
+import com.webknot.campus.repository.EventRepository;
+
+/**
+ * In-memory inverted index for event search over name, description, venue and organizer.
+ *
+ * Every query word must match an indexed word, either exactly or as its prefix ("work" finds "Workshop").
+ * Matches are ranked by how rare the word is across events and by the field it is in (name first).
+ * The index is built at startup and updated as events are created and deleted.
+ */
+@Service
+public class EventSearchService {
+
+    private record IndexedEvent(EventSearchHit hit, Map<String, Double> terms) {
+    }
+
+    // Keyset position in ranking order; the cursor is "score,eventId" of the last hit on a page
+    private record SearchPosition(double score, String eventId) {
+
+        static SearchPosition parse(String cursor) {
+            String[] parts = cursor.split(",", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SearchPosition(Double.parseDouble(parts[0]), parts[1]);
+        }
+
+        static String cursor(double score, String eventId) {
+            return score + "," + eventId;
+        }
+
+    }
+
+    // Best score first, ties by eventId
+    private static final Comparator<EventSearchHit> RANKING =
+        Comparator.comparingDouble(EventSearchHit::score).reversed().thenComparing(EventSearchHit::eventId);
+
+    // Weight of a word per field it appears in
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double VENUE_WEIGHT = 2.0;
+    private static final double ORGANIZER_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // word -> (eventId -> weighted occurrences); sorted so a prefix is a range of keys
+    private final ConcurrentSkipListMap<String, ConcurrentHashMap<String, Double>> postings = new ConcurrentSkipListMap<>();
+
+    // eventId -> search result fields and the words it is indexed under
+    private final ConcurrentHashMap<String, IndexedEvent> events = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes every event once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (Event event : eventRepository.findAll()) {
+            index(event);
+        }
+        System.out.println("Indexed " + events.size() + " events (" + postings.size() + " words) for search");
+    }
+
+    /**
+     * Adds or re-indexes a saved event
+     * @param event Saved event
+     */
+    public synchronized void index(Event event) {
+        remove(event.getEventId());
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, event.getEventName(), NAME_WEIGHT);
+        addTerms(terms, event.getVenue(), VENUE_WEIGHT);
+        addTerms(terms, event.getOrganizerName(), ORGANIZER_WEIGHT);
+        addTerms(terms, event.getDescription(), DESCRIPTION_WEIGHT);
+
+        EventSearchHit hit = new EventSearchHit(event.getEventId(), event.getEventName(), event.getEventType(),
+            event.getEventDate(), event.getEventTime(), event.getVenue(), event.getOrganizerName(), 0);
+        events.put(event.getEventId(), new IndexedEvent(hit, terms));
+        terms.forEach((term, weight) ->
+            postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(event.getEventId(), weight));
+    }
+
+    /**
+     * Drops a deleted event
+     * @param eventId Event ID
+     */
+    public synchronized void remove(String eventId) {
+        IndexedEvent indexed = events.remove(eventId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms().keySet()) {
+            postings.computeIfPresent(term, (key, matches) -> {
+                matches.remove(eventId);
+                return matches.isEmpty() ? null : matches;
+            });
+        }
+    }
+
+    /**
+     * Ranked search, one page at a time
+     * @param query Words to find
+     * @param pageSize Results per page
+     * @param after The previous page's nextCursor ("score,eventId" of its last hit), or null for the first page
+     * @return Best matches first
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<EventSearchHit> search(String query, int pageSize, String after) {
+        SearchPosition position = after != null ? SearchPosition.parse(after) : null;
+        List<String> queryTerms = tokenize(query).distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        int eventCount = Math.max(events.size(), 1);
+        Map<String, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<String, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, ConcurrentHashMap<String, Double>> entry
+                    : postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE).entrySet()) {
+                Map<String, Double> matches = entry.getValue();
+                // Rarer words count more; a prefix counts for the share of the word it covers
+                double weight = Math.log(1 + (double) eventCount / matches.size())
+                    * queryTerm.length() / entry.getKey().length();
+                matches.forEach((eventId, occurrences) -> termScores.merge(eventId, weight * occurrences, Double::sum));
+            }
+
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((eventId, score) -> score + termScores.get(eventId));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        // Keep only the page (plus one, to tell whether more follow) in a heap with the worst kept hit on top,
+        // instead of sorting every match
+        PriorityQueue<EventSearchHit> best = new PriorityQueue<>(pageSize + 2, RANKING.reversed());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            String eventId = entry.getKey();
+            double score = entry.getValue();
+            // Already on an earlier page, or below everything this page keeps
+            if (position != null && !ranksAfter(score, eventId, position.score(), position.eventId())) {
+                continue;
+            }
+            if (best.size() > pageSize && ranksAfter(score, eventId, best.peek().score(), best.peek().eventId())) {
+                continue;
+            }
+            IndexedEvent indexed = events.get(eventId);
+            if (indexed == null) {
+                continue;
+            }
+            best.add(indexed.hit().withScore(score));
+            if (best.size() > pageSize + 1) {
+                best.poll();
+            }
+        }
+
+        List<EventSearchHit> rows = new ArrayList<>(best);
+        rows.sort(RANKING);
+        return CursorPage.of(rows, pageSize, hit -> SearchPosition.cursor(hit.score(), hit.eventId()));
+    }
+
+    /**
+     * Whether a match ranks below another in RANKING order
+     */
+    private static boolean ranksAfter(double score, String eventId, double otherScore, String otherEventId) {
+        return score < otherScore || score == otherScore && eventId.compareTo(otherEventId) > 0;
+    }
+
+    /**
+     * Number of indexed events
+     * @return Index size
+     */
+    public int size() {
+        return events.size();
+    }
+
+    private static void addTerms(Map<String, Double> terms, String text, double weight) {
+        tokenize(text).forEach(term -> terms.merge(term, weight, Double::sum));
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null) {
+            return Stream.empty();
+        }
+        return NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT)).filter(term -> !term.isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package com.webknot.campus.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webknot.campus.entity.EventStats;
+import com.webknot.campus.repository.EventStatsRepository;
+
+/**
+ * Keeps the event_stats rollup in step with check-ins and feedback. Active registrations are not part of
+ * it: Event.registeredCount (SeatReservationService) is the one counter for those.
+ *
+ * The record* methods must run inside the transaction that writes the base row, so the rollup
+ * commits or rolls back with it. On SQLite, persist new Registration/Attendance rows before calling
+ * them: pooled ID allocation takes a second connection and must not wait behind this transaction's
+ * write lock.
+ */
+@Service
+public class EventStatsService {
+
+    @Autowired
+    private EventStatsRepository eventStatsRepository;
+
+    /**
+     * Recomputes every event's rollup from the base tables once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildAll() {
+        eventStatsRepository.saveAll(eventStatsRepository.computeAll());
+        System.out.println("Rebuilt event statistics for " + eventStatsRepository.count() + " events");
+    }
+
+    /**
+     * Creates the (empty) rollup row for a new event
+     * @param eventId Event ID
+     */
+    @Transactional
+    public void initialize(String eventId) {
+        insertIfAbsent(new EventStats(eventId));
+    }
+
+    /**
+     * Adjusts attendance and the per-method check-in counts
+     * @param eventId Event ID
+     * @param qrScans QR_SCAN check-ins added (negative when removed)
+     * @param manual MANUAL check-ins added (negative when removed)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCheckIns(String eventId, long qrScans, long manual) {
+        if (eventStatsRepository.addCheckIns(eventId, qrScans, manual) == 0 && !rebuild(eventId)) {
+            // Another transaction created the row first; its recount cannot include this write
+            eventStatsRepository.addCheckIns(eventId, qrScans, manual);
+        }
+    }
+
+    /**
+     * Adjusts attendance for a single check-in
+     * @param eventId Event ID
+     * @param checkInMethod QR_SCAN or MANUAL
+     * @param delta 1 for a new check-in, -1 when one stops counting
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCheckIn(String eventId, String checkInMethod, long delta) {
+        if ("MANUAL".equals(checkInMethod)) {
+            recordCheckIns(eventId, 0, delta);
+        } else {
+            recordCheckIns(eventId, delta, 0);
+        }
+    }
+
+    /**
+     * Adds submitted feedback to the count and rating sum
+     * @param eventId Event ID
+     * @param count Feedback entries added
+     * @param ratingSum Sum of their ratings
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFeedback(String eventId, long count, long ratingSum) {
+        if (eventStatsRepository.addFeedback(eventId, count, ratingSum) == 0 && !rebuild(eventId)) {
+            // Another transaction created the row first; its recount cannot include this write
+            eventStatsRepository.addFeedback(eventId, count, ratingSum);
+        }
+    }
+
+    /**
+     * Drops the rollup row of a deleted event
+     * @param eventId Event ID
+     */
+    @Transactional
+    public void remove(String eventId) {
+        if (eventStatsRepository.existsById(eventId)) {
+            eventStatsRepository.deleteById(eventId);
+        }
+    }
+
+    /**
+     * Creates a missing row (event created outside the API) from a recount, which already includes this
+     * transaction's write
+     * @return false if another transaction created the row in the meantime
+     */
+    private boolean rebuild(String eventId) {
+        EventStats stats = eventStatsRepository.computeForEvent(eventId);
+        return stats == null || insertIfAbsent(stats);
+    }
+
+    private boolean insertIfAbsent(EventStats stats) {
+        return eventStatsRepository.insertIfAbsent(stats.getEventId(), stats.getAttendance(), stats.getQrCheckIns(), stats.getManualCheckIns(),
+            stats.getFeedbackCount(), stats.getRatingSum()) == 1;
+    }
+}
@@ -0,0 +1,182 @@
+package com.webknot.campus.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webknot.campus.config.ReadReplica;
+import com.webknot.campus.dto.AttendanceExportRow;
+import com.webknot.campus.dto.FeedbackExportRow;
+import com.webknot.campus.dto.RegistrationExportRow;
+import com.webknot.campus.repository.AttendanceRepository;
+import com.webknot.campus.repository.FeedbackRepository;
+import com.webknot.campus.repository.RegistrationRepository;
+
+/**
+ * Writes an event's registrations, attendance or feedback straight from a database cursor to an output
+ * stream, one row at a time.
+ *
+ * Rows are read as DTO projections, so nothing is added to the persistence context and heap use stays
+ * flat however many rows are exported. The read transaction stays open until the last row is written;
+ * on SQLite without WAL that holds off writers for the duration of the export.
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() { return mediaType; }
+
+        public String getExtension() { return extension; }
+
+        public static Optional<Format> parse(String format) {
+            for (Format candidate : values()) {
+                if (candidate.extension.equalsIgnoreCase(format)) {
+                    return Optional.of(candidate);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Streams an event's registrations
+     * @param eventId Event ID
+     * @param format CSV or NDJSON
+     * @param out Destination, left open
+     * @return Rows written
+     */
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public long exportRegistrations(String eventId, Format format, OutputStream out) throws IOException {
+        try (Stream<RegistrationExportRow> rows = registrationRepository.streamExportRowsByEvent(eventId)) {
+            return write(rows, RegistrationExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Streams an event's check-ins
+     * @param eventId Event ID
+     * @param format CSV or NDJSON
+     * @param out Destination, left open
+     * @return Rows written
+     */
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public long exportAttendance(String eventId, Format format, OutputStream out) throws IOException {
+        try (Stream<AttendanceExportRow> rows = attendanceRepository.streamExportRowsByEvent(eventId)) {
+            return write(rows, AttendanceExportRow.class, format, out);
+        }
+    }
+
+    /**
+     * Streams an event's feedback
+     * @param eventId Event ID
+     * @param format CSV or NDJSON
+     * @param out Destination, left open
+     * @return Rows written
+     */
+    @Transactional(readOnly = true)
+    @ReadReplica
+    public long exportFeedback(String eventId, Format format, OutputStream out) throws IOException {
+        try (Stream<FeedbackExportRow> rows = feedbackRepository.streamExportRowsByEvent(eventId)) {
+            return write(rows, FeedbackExportRow.class, format, out);
+        }
+    }
+
+    private <T extends Record> long write(Stream<T> rows, Class<T> type, Format format, OutputStream out)
+            throws IOException {
+        RecordComponent[] columns = type.getRecordComponents();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                writer.write(i > 0 ? "," : "");
+                writer.write(columns[i].getName());
+            }
+            writer.write("\r\n");
+        }
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == Format.CSV) {
+                for (int i = 0; i < columns.length; i++) {
+                    writer.write(i > 0 ? "," : "");
+                    writer.write(csvField(value(columns[i], row)));
+                }
+                writer.write("\r\n");
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static Object value(RecordComponent column, Record row) {
+        try {
+            return column.getAccessor().invoke(row);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + column.getName(), e);
+        }
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Keep spreadsheets from evaluating free text (e.g. feedback comments) as a formula
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,7 @@
+package com.webknot.campus.service;
+
+/**
+ * Components of a valid QR token (eventId_studentId_epochSeconds)
+ */
+public record ParsedQrToken(String eventId, String studentId, long epochSeconds) implements QrTokenParseResult {
+}
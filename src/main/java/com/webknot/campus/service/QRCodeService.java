@@ -2,7 +2,11 @@ package com.webknot.campus.service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -13,14 +17,30 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class QRCodeService {
     
     @Value("${app.qr.base-url:https://campus-event-qr.vercel.app/checkin/}")
     private String qrBaseUrl;
     
-    private static final int QR_CODE_WIDTH = 300;
-    private static final int QR_CODE_HEIGHT = 300;
+    @Value("${app.qr.cache.max-bytes:33554432}")
+    private long cacheMaxBytes;
+    
+    public static final int DEFAULT_SIZE = 300;
+    public static final int MIN_SIZE = 100;
+    public static final int MAX_SIZE = 1000;
+    
+    private static final String EVENT_ID_PREFIX = "WKUe";
+    private static final String STUDENT_ID_PREFIX = "1WKU";
+    
+    private QrImageCache imageCache;
+    
+    @PostConstruct
+    void initCache() {
+        imageCache = new QrImageCache(cacheMaxBytes);
+    }
     
     /**
      * Generates a QR code for event check-in
@@ -28,23 +48,134 @@ public class QRCodeService {
      * @return Base64 encoded QR code image
      */
     public String generateQRCode(String qrToken) {
+        return Base64.getEncoder().encodeToString(renderPng(qrToken, DEFAULT_SIZE));
+    }
+    
+    /**
+     * Renders the check-in QR code as a PNG image (served from the image cache when possible)
+     * @param qrToken Unique token for the registration
+     * @param size Width and height in pixels
+     * @return PNG bytes
+     */
+    public byte[] renderPng(String qrToken, int size) {
+        String key = cacheKey(qrToken, "png", size);
+        byte[] image = imageCache.get(key);
+        if (image == null) {
+            image = encodePng(qrToken, size);
+            imageCache.put(key, image);
+        }
+        return image;
+    }
+    
+    /**
+     * Renders the check-in QR code as an SVG image (served from the image cache when possible)
+     * @param qrToken Unique token for the registration
+     * @param size Width and height in pixels
+     * @return SVG document bytes (UTF-8)
+     */
+    public byte[] renderSvg(String qrToken, int size) {
+        String key = cacheKey(qrToken, "svg", size);
+        byte[] image = imageCache.get(key);
+        if (image == null) {
+            image = encodeSvg(qrToken, size);
+            imageCache.put(key, image);
+        }
+        return image;
+    }
+    
+    /**
+     * Checks whether an image is already rendered, without counting as a cache lookup
+     * @param qrToken Unique token for the registration
+     * @param format Image format ("png" or "svg")
+     * @param size Width and height in pixels
+     * @return true if cached
+     */
+    public boolean isCached(String qrToken, String format, int size) {
+        return imageCache.contains(cacheKey(qrToken, format, size));
+    }
+    
+    /**
+     * Gets the rendered image cache, for its hit/miss/eviction counters
+     * @return QR image cache
+     */
+    public QrImageCache getImageCache() {
+        return imageCache;
+    }
+    
+    private byte[] encodePng(String qrToken, int size) {
         try {
-            // Create the QR code content - URL that can be scanned for check-in
-            String qrContent = qrBaseUrl + qrToken;
-            
-            // Generate QR code
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            BitMatrix bitMatrix = qrCodeWriter.encode(qrContent, BarcodeFormat.QR_CODE, QR_CODE_WIDTH, QR_CODE_HEIGHT);
+            BitMatrix bitMatrix = encode(qrToken, size);
             
-            // Convert to PNG image
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
+            return outputStream.toByteArray();
             
-            // Encode to Base64
-            byte[] qrCodeBytes = outputStream.toByteArray();
-            return Base64.getEncoder().encodeToString(qrCodeBytes);
-            
-        } catch (WriterException | IOException e) {
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate QR code for token: " + qrToken, e);
+        }
+    }
+    
+    private byte[] encodeSvg(String qrToken, int size) {
+        // Encode at the smallest size so each matrix cell is one module; the SVG scales it up
+        BitMatrix bitMatrix = encode(qrToken, 0);
+        int width = bitMatrix.getWidth();
+        int height = bitMatrix.getHeight();
+        
+        StringBuilder svg = new StringBuilder(8192);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(size)
+           .append("\" height=\"").append(size)
+           .append("\" viewBox=\"0 0 ").append(width).append(' ').append(height)
+           .append("\" shape-rendering=\"crispEdges\">")
+           .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/><path fill=\"#000\" d=\"");
+        
+        // One rectangle per horizontal run of dark modules
+        for (int y = 0; y < height; y++) {
+            int x = 0;
+            while (x < width) {
+                if (!bitMatrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < width && bitMatrix.get(x, y)) {
+                    x++;
+                }
+                svg.append('M').append(start).append(' ').append(y)
+                   .append('h').append(x - start).append("v1h-").append(x - start).append('z');
+            }
+        }
+        svg.append("\"/></svg>");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Builds a strong ETag for a rendered QR image (same inputs always render the same bytes)
+     * @param qrToken Unique token for the registration
+     * @param format Image format ("png" or "svg")
+     * @param size Width and height in pixels
+     * @return Hex digest identifying the image
+     */
+    public String imageTag(String qrToken, String format, int size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((qrBaseUrl + qrToken + "|" + format + "|" + size)
+                .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private String cacheKey(String qrToken, String format, int size) {
+        return qrToken + '|' + format + '|' + size;
+    }
+    
+    private BitMatrix encode(String qrToken, int size) {
+        try {
+            // Create the QR code content - URL that can be scanned for check-in
+            String qrContent = qrBaseUrl + qrToken;
+            return new QRCodeWriter().encode(qrContent, BarcodeFormat.QR_CODE, size, size);
+        } catch (WriterException e) {
             throw new RuntimeException("Failed to generate QR code for token: " + qrToken, e);
         }
     }
@@ -58,23 +189,61 @@ public class QRCodeService {
         return qrBaseUrl + qrToken;
     }
     
+    /**
+     * Parses a QR token in a single pass (no regex, no split arrays)
+     * Expected format: eventId_studentId_timestamp
+     * Example: WKUe120925_1WKU21CS001_1672531200
+     * @param qrToken Token to parse
+     * @return ParsedQrToken if valid, otherwise QrTokenParseResult.Invalid with the reason
+     */
+    public QrTokenParseResult parseQrToken(String qrToken) {
+        if (qrToken == null || qrToken.isBlank()) {
+            return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.EMPTY);
+        }
+        
+        int firstSeparator = qrToken.indexOf('_');
+        int secondSeparator = firstSeparator < 0 ? -1 : qrToken.indexOf('_', firstSeparator + 1);
+        if (secondSeparator < 0 || qrToken.indexOf('_', secondSeparator + 1) >= 0) {
+            return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.WRONG_PART_COUNT);
+        }
+        
+        if (!qrToken.startsWith(EVENT_ID_PREFIX)
+                || firstSeparator < EVENT_ID_PREFIX.length()) {
+            return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.BAD_EVENT_ID);
+        }
+        
+        int studentStart = firstSeparator + 1;
+        if (!qrToken.startsWith(STUDENT_ID_PREFIX, studentStart)
+                || secondSeparator - studentStart < STUDENT_ID_PREFIX.length()) {
+            return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.BAD_STUDENT_ID);
+        }
+        
+        int length = qrToken.length();
+        if (secondSeparator + 1 == length) {
+            return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.BAD_TIMESTAMP);
+        }
+        long epochSeconds = 0;
+        for (int i = secondSeparator + 1; i < length; i++) {
+            int digit = qrToken.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || epochSeconds > (Long.MAX_VALUE - digit) / 10) {
+                return QrTokenParseResult.Invalid.of(QrTokenParseResult.Reason.BAD_TIMESTAMP);
+            }
+            epochSeconds = epochSeconds * 10 + digit;
+        }
+        
+        return new ParsedQrToken(
+            qrToken.substring(0, firstSeparator),
+            qrToken.substring(studentStart, secondSeparator),
+            epochSeconds);
+    }
+    
     /**
      * Validates if a QR token is in the correct format
      * @param qrToken Token to validate
      * @return true if valid format
      */
     public boolean isValidQRToken(String qrToken) {
-        if (qrToken == null || qrToken.trim().isEmpty()) {
-            return false;
-        }
-        
-        // Expected format: eventId_studentId_timestamp
-        // Example: WKUe120925_1WKU21CS001_1672531200
-        String[] parts = qrToken.split("_");
-        return parts.length == 3 && 
-               parts[0].startsWith("WKUe") && 
-               parts[1].startsWith("1WKU") &&
-               parts[2].matches("\\d+");
+        return parseQrToken(qrToken) instanceof ParsedQrToken;
     }
     
     /**
@@ -83,10 +252,7 @@ public class QRCodeService {
      * @return Event ID or null if invalid
      */
     public String getEventIdFromToken(String qrToken) {
-        if (!isValidQRToken(qrToken)) {
-            return null;
-        }
-        return qrToken.split("_")[0];
+        return parseQrToken(qrToken) instanceof ParsedQrToken parsed ? parsed.eventId() : null;
     }
     
     /**
@@ -95,10 +261,7 @@ public class QRCodeService {
      * @return Student ID or null if invalid
      */
     public String getStudentIdFromToken(String qrToken) {
-        if (!isValidQRToken(qrToken)) {
-            return null;
-        }
-        return qrToken.split("_")[1];
+        return parseQrToken(qrToken) instanceof ParsedQrToken parsed ? parsed.studentId() : null;
     }
     
     /**
@@ -107,13 +270,6 @@ public class QRCodeService {
      * @return Timestamp or null if invalid
      */
     public Long getTimestampFromToken(String qrToken) {
-        if (!isValidQRToken(qrToken)) {
-            return null;
-        }
-        try {
-            return Long.parseLong(qrToken.split("_")[2]);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+        return parseQrToken(qrToken) instanceof ParsedQrToken parsed ? parsed.epochSeconds() : null;
     }
 }
@@ -0,0 +1,102 @@
+package com.webknot.campus.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of rendered QR images, bounded by the total number of image bytes held
+ */
+public class QrImageCache {
+
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> images = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public QrImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Looks up an image and records a hit or miss
+     * @param key Cache key
+     * @return Image bytes or null
+     */
+    public synchronized byte[] get(String key) {
+        byte[] image = images.get(key);
+        if (image != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return image;
+    }
+
+    /**
+     * Checks for an image without touching recency or the hit/miss counters
+     * @param key Cache key
+     * @return true if cached
+     */
+    public synchronized boolean contains(String key) {
+        return images.containsKey(key);
+    }
+
+    /**
+     * Stores an image, evicting least recently used images until the byte budget fits
+     * @param key Cache key
+     * @param image Image bytes
+     */
+    public synchronized void put(String key, byte[] image) {
+        if (image.length > maxBytes) {
+            return;
+        }
+        byte[] previous = images.put(key, image);
+        currentBytes += image.length - (previous != null ? previous.length : 0);
+
+        Iterator<Map.Entry<String, byte[]>> eldest = images.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, byte[]> entry = eldest.next();
+            currentBytes -= entry.getValue().length;
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+
+    public long getMisses() { return misses.get(); }
+
+    public long getEvictions() { return evictions.get(); }
+
+    public synchronized int getEntryCount() { return images.size(); }
+
+    public synchronized long getCurrentBytes() { return currentBytes; }
+
+    public long getMaxBytes() { return maxBytes; }
+
+    /**
+     * Snapshot of the cache counters
+     * @return Map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = getHits();
+        long lookups = hitCount + getMisses();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", getMisses());
+        stats.put("evictions", getEvictions());
+        stats.put("hitRate", lookups > 0 ? Math.round(hitCount * 10000.0 / lookups) / 100.0 : 0.0);
+        stats.put("entries", getEntryCount());
+        stats.put("bytes", getCurrentBytes());
+        stats.put("maxBytes", maxBytes);
+        return stats;
+    }
+}
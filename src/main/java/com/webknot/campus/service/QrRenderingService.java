@@ -0,0 +1,109 @@
+package com.webknot.campus.service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class QrRenderingService {
+
+    @Autowired
+    private QRCodeService qrCodeService;
+
+    @Value("${app.qr.render.workers:2}")
+    private int workers;
+
+    @Value("${app.qr.render.queue-capacity:500}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    // Registrations with a render job queued or running
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "qr-render-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queues rendering of the QR image for a registration
+     * @param registrationId Registration to render for
+     * @param qrToken Token encoded in the QR code
+     * @return true if a job is queued or already running, false if the queue is full
+     */
+    public boolean submit(Long registrationId, String qrToken) {
+        if (!pending.add(registrationId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> render(registrationId, qrToken));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Queue is full - the status endpoint will resubmit on the next poll
+            pending.remove(registrationId);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the default-size PNG for a token is already in the image cache
+     * @param qrToken Token encoded in the QR code
+     * @return true if ready to serve without rendering
+     */
+    public boolean isRendered(String qrToken) {
+        return qrCodeService.isCached(qrToken, "png", QRCodeService.DEFAULT_SIZE);
+    }
+
+    /**
+     * Checks whether a render job is queued or running for a registration
+     * @param registrationId Registration ID
+     * @return true if rendering is in progress
+     */
+    public boolean isPending(Long registrationId) {
+        return pending.contains(registrationId);
+    }
+
+    /**
+     * Number of render jobs queued or running
+     * @return Pending job count
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void render(Long registrationId, String qrToken) {
+        try {
+            // Warms QRCodeService's image cache for the ticket view
+            qrCodeService.renderPng(qrToken, QRCodeService.DEFAULT_SIZE);
+        } catch (Exception e) {
+            System.err.println("Failed to render QR code for registration " + registrationId + ": " + e.getMessage());
+        } finally {
+            pending.remove(registrationId);
+        }
+    }
+}
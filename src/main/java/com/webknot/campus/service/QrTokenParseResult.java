@@ -0,0 +1,31 @@
+package com.webknot.campus.service;
+
+/**
+ * Outcome of parsing a QR token: either a {@link ParsedQrToken} or an {@link Invalid} with the reason
+ */
+public sealed interface QrTokenParseResult permits ParsedQrToken, QrTokenParseResult.Invalid {
+
+    enum Reason {
+        EMPTY,
+        WRONG_PART_COUNT,
+        BAD_EVENT_ID,
+        BAD_STUDENT_ID,
+        BAD_TIMESTAMP
+    }
+
+    record Invalid(Reason reason) implements QrTokenParseResult {
+
+        // One shared instance per reason, so rejecting a token allocates nothing
+        private static final Invalid[] BY_REASON = new Invalid[Reason.values().length];
+
+        static {
+            for (Reason reason : Reason.values()) {
+                BY_REASON[reason.ordinal()] = new Invalid(reason);
+            }
+        }
+
+        public static Invalid of(Reason reason) {
+            return BY_REASON[reason.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.webknot.campus.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.webknot.campus.dto.IndexedRegistration;
+import com.webknot.campus.entity.Registration;
+import com.webknot.campus.repository.RegistrationRepository;
+
+@Service
+public class RegistrationIndexService {
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    // Unknown tokens remembered at most this many at a time (random scans must not grow memory)
+    private static final int MAX_MISSES = 10_000;
+
+    @Value("${app.registration-index.miss-ttl:30s}")
+    private Duration missTtl;
+
+    // qrToken -> compact registration record
+    private final ConcurrentHashMap<String, IndexedRegistration> byQrToken = new ConcurrentHashMap<>();
+
+    // qrToken -> time (nanoTime) the database last said it does not exist
+    private final ConcurrentHashMap<String, Long> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Loads every registration once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (IndexedRegistration entry : registrationRepository.findAllIndexed()) {
+            byQrToken.put(entry.qrToken(), entry);
+        }
+        System.out.println("Indexed " + byQrToken.size() + " registrations by QR token");
+    }
+
+    /**
+     * Looks up a registration by QR token, falling back to the database on a miss (registrations written
+     * by another instance); a token the database does not know is not looked up again for miss-ttl
+     * @param qrToken QR token
+     * @return Indexed registration if the token exists
+     */
+    public Optional<IndexedRegistration> find(String qrToken) {
+        IndexedRegistration entry = byQrToken.get(qrToken);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        Long missedAt = misses.get(qrToken);
+        if (missedAt != null) {
+            if (System.nanoTime() - missedAt < missTtl.toNanos()) {
+                return Optional.empty();
+            }
+            misses.remove(qrToken, missedAt);
+        }
+
+        Optional<IndexedRegistration> loaded = registrationRepository.findIndexedByQrToken(qrToken);
+        if (loaded.isEmpty()) {
+            if (misses.size() >= MAX_MISSES) {
+                misses.clear();
+            }
+            misses.put(qrToken, System.nanoTime());
+            return Optional.empty();
+        }
+        byQrToken.putIfAbsent(qrToken, loaded.get());
+        return Optional.ofNullable(byQrToken.get(qrToken));
+    }
+
+    /**
+     * Adds a newly saved registration (student and event must be loaded)
+     * @param registration Saved registration
+     */
+    public void add(Registration registration) {
+        misses.remove(registration.getQrToken());
+        byQrToken.put(registration.getQrToken(), new IndexedRegistration(
+            registration.getQrToken(),
+            registration.getRegistrationId(),
+            registration.getStudent().getStudentId(),
+            registration.getEvent().getEventId(),
+            registration.getStudent().getFullName(),
+            registration.getEvent().getEventName(),
+            registration.getStatus(),
+            false));
+    }
+
+    /**
+     * Records a status change (e.g. cancellation)
+     * @param qrToken QR token
+     * @param status New status
+     */
+    public void updateStatus(String qrToken, String status) {
+        byQrToken.computeIfPresent(qrToken, (token, entry) -> entry.withStatus(status));
+    }
+
+    /**
+     * Atomically marks a registration as attended
+     * @param qrToken QR token
+     * @return true if this call flipped the flag, false if already attended or unknown
+     */
+    public boolean claimAttendance(String qrToken) {
+        while (true) {
+            IndexedRegistration entry = byQrToken.get(qrToken);
+            if (entry == null || entry.attended()) {
+                return false;
+            }
+            if (byQrToken.replace(qrToken, entry, entry.withAttended(true))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Undoes a claim whose attendance insert failed
+     * @param qrToken QR token
+     */
+    public void releaseAttendance(String qrToken) {
+        byQrToken.computeIfPresent(qrToken, (token, entry) -> entry.withAttended(false));
+    }
+
+    /**
+     * Marks a registration as attended after a check-in written elsewhere (manual or batch)
+     * @param qrToken QR token
+     */
+    public void markAttended(String qrToken) {
+        byQrToken.computeIfPresent(qrToken, (token, entry) -> entry.withAttended(true));
+    }
+
+    /**
+     * Number of indexed registrations
+     * @return Index size
+     */
+    public int size() {
+        return byQrToken.size();
+    }
+
+    /**
+     * Drops all registrations of a deleted event
+     * @param eventId Event ID
+     */
+    public void removeEvent(String eventId) {
+        byQrToken.values().removeIf(entry -> entry.eventId().equals(eventId));
+    }
+}
@@ -0,0 +1,243 @@
+package com.webknot.campus.service;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webknot.campus.config.ReadWriteRoutingDataSource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Caches report responses until a write touches the data they are built from.
+ *
+ * Every report declares the topics it reads. Writers bump a per-topic version after their transaction
+ * commits, and a cached report is fresh while none of its topics has moved since it was computed. With
+ * stale-while-revalidate on, an outdated report is still returned once while a background thread
+ * recomputes it; otherwise the caller recomputes it. Concurrent misses on the same key share one load.
+ */
+@Service
+public class ReportCacheService {
+
+    /**
+     * Data a report can depend on
+     */
+    public enum Topic { EVENTS, STUDENTS, REGISTRATIONS, ATTENDANCE, FEEDBACK }
+
+    private record Entry(Object value, Set<Topic> topics, long[] versions) {}
+
+    @Value("${app.reports.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.cache.stale-while-revalidate:false}")
+    private boolean staleWhileRevalidate;
+
+    @Value("${app.reports.cache.max-entries:200}")
+    private int maxEntries;
+
+    // Bumped by invalidate(); a cached entry remembers the versions it was computed at
+    private final AtomicLongArray versions = new AtomicLongArray(Topic.values().length);
+
+    // Access-ordered, so the least recently used report is dropped first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // Loads in progress, shared by concurrent misses on the same key
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    // Keys with a background refresh queued or running
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolExecutor refresher;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void start() {
+        // Background refreshes get the same read-only transaction a request would have
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        refresher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxEntries),
+            runnable -> {
+                Thread thread = new Thread(runnable, "report-refresh");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdown();
+    }
+
+    /**
+     * Returns a cached report, computing it if it is missing or outdated
+     * @param key Report name plus its parameters
+     * @param loader Computes the report; runs in a read-only transaction of its own when refreshing
+     * @param topics Data the report is built from
+     * @return Report value (shared between callers, must not be modified)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader, Topic... topics) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && isFresh(entry)) {
+            hits.incrementAndGet();
+            return (T) entry.value();
+        }
+        if (entry != null && staleWhileRevalidate) {
+            staleHits.incrementAndGet();
+            scheduleRefresh(key, loader, entry.topics());
+            return (T) entry.value();
+        }
+
+        misses.incrementAndGet();
+        return load(key, loader, topics.length > 0 ? EnumSet.of(topics[0], topics) : EnumSet.noneOf(Topic.class));
+    }
+
+    /**
+     * Marks every report that reads any of the topics as outdated. Call after the write has committed,
+     * otherwise a concurrent reader may cache the pre-write data against the new version.
+     * @param topics Topics that changed
+     */
+    public void invalidate(Topic... topics) {
+        for (Topic topic : topics) {
+            versions.incrementAndGet(topic.ordinal());
+        }
+        invalidations.incrementAndGet();
+    }
+
+    private boolean isFresh(Entry entry) {
+        for (Topic topic : entry.topics()) {
+            if (entry.versions()[topic.ordinal()] != versions.get(topic.ordinal())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void scheduleRefresh(String key, Supplier<?> loader, Set<Topic> topics) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> refresh(key, loader, topics));
+        } catch (RejectedExecutionException e) {
+            // Queue is full - the next stale read tries again
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(String key, Supplier<?> loader, Set<Topic> topics) {
+        try {
+            // Same read side a report request uses
+            ReadWriteRoutingDataSource.onReadSide(() -> readOnlyTransaction.execute(status -> load(key, loader, topics)));
+        } catch (Exception e) {
+            System.err.println("Failed to refresh report " + key + ": " + e.getMessage());
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(String key, Supplier<T> loader, Set<Topic> topics) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(key, own);
+        if (running != null) {
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            // Versions are read before the queries run, so a write that lands mid-load leaves the entry outdated
+            long[] snapshot = new long[versions.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = versions.get(i);
+            }
+            T value = loader.get();
+            synchronized (entries) {
+                entries.put(key, new Entry(value, topics, snapshot));
+                if (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+            own.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, own);
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+
+    public long getMisses() { return misses.get(); }
+
+    public long getStaleHits() { return staleHits.get(); }
+
+    public long getInvalidations() { return invalidations.get(); }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters
+     * @return Map of statistic name to value
+     */
+    public Map<String, Object> getStats() {
+        long served = getHits() + getStaleHits();
+        long lookups = served + getMisses();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("staleWhileRevalidate", staleWhileRevalidate);
+        stats.put("hits", getHits());
+        stats.put("staleHits", getStaleHits());
+        stats.put("misses", getMisses());
+        stats.put("hitRate", lookups > 0 ? Math.round(served * 10000.0 / lookups) / 100.0 : 0.0);
+        stats.put("invalidations", getInvalidations());
+        stats.put("entries", getEntryCount());
+        stats.put("maxEntries", maxEntries);
+        return stats;
+    }
+}
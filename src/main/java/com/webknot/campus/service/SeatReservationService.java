@@ -0,0 +1,142 @@
+package com.webknot.campus.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.webknot.campus.entity.Event;
+import com.webknot.campus.repository.EventRepository;
+
+/**
+ * Seat accounting for registrations.
+ *
+ * A seat is first held in memory (no database access), so a full event is turned away without waiting
+ * for the writer. The hold is then confirmed by the Event.registeredCount UPDATE inside the transaction
+ * that saves the registration; if the database has no room left, confirm throws and that write rolls
+ * back. Callers give a hold back when their write fails. Released seats come back in memory only once
+ * the releasing transaction commits.
+ */
+@Service
+public class SeatReservationService {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // In-memory seat counters per event, seeded from Event.registeredCount
+    private final ConcurrentHashMap<String, AtomicInteger> takenSeats = new ConcurrentHashMap<>();
+
+    /**
+     * Holds one seat for an event
+     * @param event Event to hold a seat in
+     * @return true if the seat is held, false if the event is full
+     */
+    public boolean hold(Event event) {
+        return hold(event, 1) == 1;
+    }
+
+    /**
+     * Holds up to the requested number of seats for an event in one step
+     * @param event Event to hold seats in
+     * @param seats Seats wanted
+     * @return Seats actually held (0 if the event is full)
+     */
+    public int hold(Event event, int seats) {
+        if (seats <= 0) {
+            return 0;
+        }
+        AtomicInteger counter = counterFor(event);
+        int capacity = event.getCapacity();
+
+        int current;
+        int granted;
+        do {
+            current = counter.get();
+            granted = Math.min(seats, capacity - current);
+            if (granted <= 0) {
+                return 0;
+            }
+        } while (!counter.compareAndSet(current, current + granted));
+        return granted;
+    }
+
+    /**
+     * Gives back seats held for a write that did not commit
+     * @param eventId Event the seats belong to
+     * @param seats Seats held
+     */
+    public void cancelHold(String eventId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        AtomicInteger counter = takenSeats.get(eventId);
+        if (counter != null) {
+            counter.updateAndGet(value -> Math.max(value - seats, 0));
+        }
+    }
+
+    /**
+     * Takes held seats in the database, in the caller's transaction (after the registrations are saved)
+     * @param eventId Event the seats belong to
+     * @param seats Seats held
+     * @throws IllegalStateException if the event has no room left, so the transaction rolls back
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void confirm(String eventId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        // Durable counter is the source of truth
+        if (eventRepository.reserveSeats(eventId, seats) == 0) {
+            // Database disagrees with memory (e.g. another instance took the seats) - reseed on next request
+            takenSeats.remove(eventId);
+            throw new IllegalStateException("No seats left in event " + eventId);
+        }
+    }
+
+    /**
+     * Gives seats back in the caller's transaction; memory follows once it commits
+     * @param eventId Event the seats belong to
+     * @param seats Number of seats
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String eventId, int seats) {
+        if (seats <= 0) {
+            return;
+        }
+        boolean released = eventRepository.releaseSeats(eventId, seats) == 1;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                AtomicInteger counter = takenSeats.get(eventId);
+                if (counter == null) {
+                    return;
+                }
+                if (released) {
+                    counter.updateAndGet(value -> Math.max(value - seats, 0));
+                } else {
+                    // Database disagrees with memory - reseed on next request
+                    takenSeats.remove(eventId, counter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the in-memory counter for an event (e.g. after it is deleted)
+     * @param eventId Event ID
+     */
+    public void forget(String eventId) {
+        takenSeats.remove(eventId);
+    }
+
+    private AtomicInteger counterFor(Event event) {
+        return takenSeats.computeIfAbsent(event.getEventId(),
+            id -> new AtomicInteger(event.getCurrentRegistrationCount()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.webknot.campus.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.webknot.campus.dto.StudentSuggestion;
+import com.webknot.campus.entity.Student;
+import com.webknot.campus.repository.StudentRepository;
+
+/**
+ * In-memory prefix index for student typeahead at the check-in desk.
+ *
+ * Each student is indexed under their student ID, email, first name, last name and full name (both
+ * orders), lower-cased, as "key\0studentId" entries in a sorted set. A lookup walks the entries from the
+ * typed prefix in alphabetical order, stops after a few times k distinct students, and returns the k
+ * whose matching key is shortest. The cost does not grow with the number of students, but a short key
+ * that sorts after every collected candidate is not seen (e.g. "mb" behind many "ma..." names).
+ */
+@Service
+public class StudentLookupService {
+
+    // Sorts before every other character, so "maya" comes before "mayank"
+    private static final char SEPARATOR = '\0';
+
+    // Candidates collected per suggestion returned, before ranking by key length
+    private static final int CANDIDATES_PER_SUGGESTION = 4;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final ConcurrentSkipListSet<String> keys = new ConcurrentSkipListSet<>();
+
+    // studentId -> compact student record
+    private final ConcurrentHashMap<String, StudentSuggestion> students = new ConcurrentHashMap<>();
+
+    /**
+     * Loads every student once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        for (StudentSuggestion student : studentRepository.findAllSuggestions()) {
+            add(student);
+        }
+        System.out.println("Indexed " + students.size() + " students for typeahead");
+    }
+
+    /**
+     * Adds a newly saved student
+     * @param student Saved student
+     */
+    public void add(Student student) {
+        add(new StudentSuggestion(student.getStudentId(), student.getFirstName(), student.getLastName(),
+            student.getEmail(), student.getCourse(), student.getYearOfJoining()));
+    }
+
+    private synchronized void add(StudentSuggestion student) {
+        StudentSuggestion previous = students.put(student.studentId(), student);
+        if (previous != null) {
+            keysOf(previous).forEach(keys::remove);
+        }
+        keys.addAll(keysOf(student));
+    }
+
+    /**
+     * Students whose ID, email or name starts with the query
+     * @param query Typed prefix
+     * @param limit Maximum suggestions
+     * @return Up to limit students, shortest matching key first (ties in alphabetical order)
+     */
+    public List<StudentSuggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // studentId -> length of its shortest matching key
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        int wanted = limit * CANDIDATES_PER_SUGGESTION;
+        for (String key : keys.subSet(prefix, prefix + Character.MAX_VALUE)) {
+            int separator = key.lastIndexOf(SEPARATOR);
+            candidates.merge(key.substring(separator + 1), separator, Math::min);
+            if (candidates.size() >= wanted) {
+                break;
+            }
+        }
+
+        // Stable sort keeps alphabetical order among keys of equal length
+        List<String> studentIds = candidates.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+
+        List<StudentSuggestion> suggestions = new ArrayList<>(studentIds.size());
+        for (String studentId : studentIds) {
+            StudentSuggestion student = students.get(studentId);
+            if (student != null) {
+                suggestions.add(student);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Number of indexed students
+     * @return Index size
+     */
+    public int size() {
+        return students.size();
+    }
+
+    private static List<String> keysOf(StudentSuggestion student) {
+        String first = normalize(student.firstName());
+        String last = normalize(student.lastName());
+        List<String> values = List.of(normalize(student.studentId()), normalize(student.email()),
+            first, last, normalize(first + " " + last), normalize(last + " " + first));
+
+        List<String> studentKeys = new ArrayList<>(values.size());
+        for (String value : values) {
+            if (!value.isEmpty()) {
+                studentKeys.add(value + SEPARATOR + student.studentId());
+            }
+        }
+        return studentKeys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,293 @@
+package com.webknot.campus.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Funnels write transactions through one writer thread and commits whatever is queued together.
+ *
+ * SQLite allows a single writer per file, so concurrent request transactions only queue on the lock
+ * (or fail with SQLITE_BUSY). Here callers hand their write to the writer thread and wait for it; the
+ * writer drains up to max-batch pending writes and runs them in one transaction, so a burst of N
+ * check-ins costs one commit instead of N. If any write in a batch fails, the batch is rolled back and
+ * each write is retried in its own transaction, so every caller gets its own result or exception.
+ * SQLITE_BUSY from outside writers (e.g. a long export) is retried with backoff.
+ *
+ * A write has an insert step and an update step. The writer runs every insert of a batch before any
+ * update, because pooled ID allocation takes a second connection that cannot commit once this
+ * transaction holds the write lock. Insert steps must only create and persist new entities (use
+ * getReferenceById for associations) and, like update steps, may run more than once.
+ */
+@Service
+public class WriteQueueService {
+
+    private static final class Write<T> {
+        private final Supplier<T> insert;
+        private final Function<T, T> update;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+
+        Write(Supplier<T> insert, Function<T, T> update) {
+            this.insert = insert;
+            this.update = update;
+        }
+
+        void runInsert() { value = insert != null ? insert.get() : null; }
+
+        void runUpdate() { value = update.apply(value); }
+
+        void complete() { result.complete(value); }
+
+        void fail(Throwable failure) { result.completeExceptionally(failure); }
+    }
+
+    // SQLite primary result codes: the database file is locked by another connection / table is locked
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    // A UNIQUE/NOT NULL/FOREIGN KEY constraint failed
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.db.write-queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.db.write-queue.max-batch:64}")
+    private int maxBatch;
+
+    @Value("${app.db.write-queue.capacity:2000}")
+    private int capacity;
+
+    @Value("${app.db.write-queue.busy-retries:5}")
+    private int busyRetries;
+
+    @Value("${app.db.write-queue.busy-backoff-ms:20}")
+    private long busyBackoffMs;
+
+    @Value("${app.db.write-queue.offer-timeout:30s}")
+    private Duration offerTimeout;
+
+    private BlockingQueue<Write<?>> pending;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong splitBatches = new AtomicLong();
+    private final AtomicLong busyRetryCount = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        pending = new LinkedBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::drain, "db-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // Let queued writes finish, then stop
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Persists new rows, then applies the updates that go with them, in the writer's next commit
+     * @param insert Creates and saves the new entities; runs before any update in the batch
+     * @param update Follow-up writes (e.g. rollup counters), given the insert's result
+     * @return The insert's result, once committed
+     */
+    public <T> T submit(Supplier<T> insert, Consumer<? super T> update) {
+        return execute(new Write<>(insert, value -> {
+            update.accept(value);
+            return value;
+        }));
+    }
+
+    /**
+     * Runs a write that creates no new rows (updates and deletes) in the writer's next commit
+     * @param work Transactional work
+     * @return The work's result, once committed
+     */
+    public <T> T submit(Supplier<T> work) {
+        return execute(new Write<T>(null, ignored -> work.get()));
+    }
+
+    private <T> T execute(Write<T> write) {
+        // Off (e.g. PostgreSQL), already inside a transaction, or called from the writer itself: run inline
+        if (!enabled || Thread.currentThread() == writer || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> {
+                write.runInsert();
+                write.runUpdate();
+                return write.value;
+            });
+        }
+
+        try {
+            if (!running || !pending.offer(write, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Write queue is full or stopped");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while queueing a write", e);
+        }
+
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<Write<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !pending.isEmpty()) {
+            try {
+                batch.add(pending.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            // Everything that queued up during the previous commit goes into this one
+            pending.drainTo(batch, maxBatch - 1);
+            try {
+                commitBatch(batch);
+            } catch (Throwable t) {
+                batch.forEach(write -> write.fail(t));
+            }
+            batch.clear();
+        }
+        Write<?> left;
+        while ((left = pending.poll()) != null) {
+            left.fail(new CannotAcquireLockException("Write queue stopped"));
+        }
+    }
+
+    private void commitBatch(List<Write<?>> batch) {
+        try {
+            commit(batch);
+            batch.forEach(Write::complete);
+            writes.addAndGet(batch.size());
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failedWrites.incrementAndGet();
+                batch.get(0).fail(e);
+                return;
+            }
+        }
+
+        // One write spoiled the batch - give each its own transaction so only that one fails
+        splitBatches.incrementAndGet();
+        for (Write<?> write : batch) {
+            try {
+                commit(List.of(write));
+                write.complete();
+                writes.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedWrites.incrementAndGet();
+                write.fail(e);
+            }
+        }
+    }
+
+    private void commit(List<Write<?>> batch) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    batch.forEach(Write::runInsert);
+                    batch.forEach(Write::runUpdate);
+                });
+                commits.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                if (!isBusy(e) || attempt >= busyRetries) {
+                    throw translate(e);
+                }
+                busyRetryCount.incrementAndGet();
+                try {
+                    Thread.sleep(busyBackoffMs << attempt);
+                } catch (InterruptedException interrupted) {
+                    // Shutting down - make this the last attempt
+                    attempt = busyRetries;
+                }
+            }
+        }
+    }
+
+    private static boolean isBusy(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                int code = sql.getErrorCode() & 0xff;
+                if (code == SQLITE_BUSY || code == SQLITE_LOCKED) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The SQLite dialect reports constraint failures from batched inserts as generic JDBC errors; callers
+     * catch DataIntegrityViolationException for duplicates, so hand them that
+     */
+    private static RuntimeException translate(RuntimeException failure) {
+        if (failure instanceof DataIntegrityViolationException) {
+            return failure;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && (sql.getErrorCode() & 0xff) == SQLITE_CONSTRAINT) {
+                return new DataIntegrityViolationException(sql.getMessage(), failure);
+            }
+        }
+        return failure;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public int getPendingCount() { return pending != null ? pending.size() : 0; }
+
+    public long getCommits() { return commits.get(); }
+
+    public long getWrites() { return writes.get(); }
+
+    public long getFailedWrites() { return failedWrites.get(); }
+
+    public long getSplitBatches() { return splitBatches.get(); }
+
+    public long getBusyRetries() { return busyRetryCount.get(); }
+}
@@ -0,0 +1,6 @@
+-- SQLite cannot ALTER TABLE ... ADD CONSTRAINT, so Hibernate skips the unique keys there.
+-- Recreate them as unique indexes once the schema exists.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_registrations_student_event ON registrations(student_id, event_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_registrations_qr_token ON registrations(qr_token);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_attendance_registration ON attendance(registration_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_feedback_registration ON feedback(registration_id);
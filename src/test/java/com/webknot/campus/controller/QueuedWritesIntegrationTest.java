@@ -0,0 +1,268 @@
+package com.webknot.campus.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.webknot.campus.dto.AttendanceRequest;
+import com.webknot.campus.dto.AttendanceResponse;
+import com.webknot.campus.dto.BatchCheckInRequest;
+import com.webknot.campus.dto.BatchCheckInResult;
+import com.webknot.campus.dto.RegistrationRequest;
+import com.webknot.campus.dto.RegistrationResponse;
+import com.webknot.campus.dto.ScanRecord;
+import com.webknot.campus.entity.Event;
+import com.webknot.campus.entity.Student;
+import com.webknot.campus.repository.EventRepository;
+import com.webknot.campus.repository.StudentRepository;
+import com.webknot.campus.service.WriteQueueService;
+
+/**
+ * Registrations and check-ins through the write queue against a throwaway SQLite file: seat holds under
+ * concurrent registration, and batches that fail and are retried one write at a time
+ */
+@SpringBootTest
+class QueuedWritesIntegrationTest {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + dataDir.resolve("campus-test.db"));
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private RegistrationController registrationController;
+
+    @Autowired
+    private AttendanceController attendanceController;
+
+    @Autowired
+    private WriteQueueService writeQueue;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRegistrationsTakeExactlyTheSeatsAvailable() throws Exception {
+        Event event = createEvent("WKUeTEST0001", 5);
+        List<Student> students = createStudents("QA", 21);
+
+        // Twenty students race for five seats
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<ResponseEntity<RegistrationResponse>>> responses = new ArrayList<>();
+        for (Student student : students.subList(0, 20)) {
+            responses.add(runAsync(() -> {
+                await(start);
+                return register(student, event);
+            }));
+        }
+        start.countDown();
+
+        List<RegistrationResponse> registered = new ArrayList<>();
+        for (CompletableFuture<ResponseEntity<RegistrationResponse>> response : responses) {
+            ResponseEntity<RegistrationResponse> result = response.get(30, TimeUnit.SECONDS);
+            if (result.getStatusCode() == HttpStatus.OK) {
+                registered.add(result.getBody());
+            } else {
+                assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+            }
+        }
+        assertEquals(5, registered.size());
+        assertEquals(5, registeredCount(event));
+        assertEquals(5, registrationRows(event));
+
+        // Full: the held seats were all confirmed, none left over
+        Student latecomer = students.get(20);
+        assertEquals(HttpStatus.BAD_REQUEST, register(latecomer, event).getStatusCode());
+
+        // A cancellation gives its seat back, in the database and in memory
+        assertEquals(HttpStatus.OK,
+            registrationController.cancelRegistration(registered.get(0).getRegistrationId()).getStatusCode());
+        assertEquals(4, registeredCount(event));
+        assertEquals(HttpStatus.OK, register(latecomer, event).getStatusCode());
+        assertEquals(5, registeredCount(event));
+    }
+
+    @Test
+    void aRetriedRegistrationBatchCountsEachSeatOnce() throws Exception {
+        Event event = createEvent("WKUeTEST0002", 3);
+        List<Student> students = createStudents("QB", 4);
+
+        // The duplicate fails the group commit; the writer retries each registration on its own
+        CompletableFuture<ResponseEntity<RegistrationResponse>> first;
+        CompletableFuture<ResponseEntity<RegistrationResponse>> duplicate;
+        CompletableFuture<ResponseEntity<RegistrationResponse>> second;
+        long splitBatches = writeQueue.getSplitBatches();
+        CountDownLatch releaseWriter = blockWriter();
+        try {
+            first = runAsync(() -> register(students.get(0), event));
+            awaitPending(1);
+            duplicate = runAsync(() -> register(students.get(0), event));
+            awaitPending(2);
+            second = runAsync(() -> register(students.get(1), event));
+            awaitPending(3);
+        } finally {
+            releaseWriter.countDown();
+        }
+
+        assertEquals(HttpStatus.OK, first.get(30, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, duplicate.get(30, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.OK, second.get(30, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(splitBatches + 1, writeQueue.getSplitBatches());
+
+        assertEquals(2, registeredCount(event));
+        assertEquals(2, registrationRows(event));
+
+        // The duplicate's hold was handed back: one seat is still free, and only one
+        assertEquals(HttpStatus.OK, register(students.get(2), event).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, register(students.get(3), event).getStatusCode());
+        assertEquals(3, registeredCount(event));
+    }
+
+    @Test
+    void aRetriedCheckInBatchCountsEachAttendanceOnce() throws Exception {
+        Event event = createEvent("WKUeTEST0003", 10);
+        List<String> qrTokens = new ArrayList<>();
+        for (Student student : createStudents("QC", 3)) {
+            qrTokens.add(register(student, event).getBody().getQrToken());
+        }
+
+        // A live scan and the offline batch both claim the first ticket in the same group commit
+        List<ScanRecord> scans = new ArrayList<>();
+        for (String qrToken : qrTokens) {
+            scans.add(new ScanRecord(qrToken, "gate-2", null));
+        }
+        CompletableFuture<ResponseEntity<AttendanceResponse>> live;
+        CompletableFuture<ResponseEntity<List<BatchCheckInResult>>> batch;
+        CountDownLatch releaseWriter = blockWriter();
+        try {
+            live = runAsync(() ->
+                attendanceController.markAttendanceByQR(new AttendanceRequest(qrTokens.get(0), "gate-1")));
+            awaitPending(1);
+            batch = runAsync(() -> attendanceController.markAttendanceBatch(new BatchCheckInRequest(scans)));
+            awaitPending(2);
+        } finally {
+            releaseWriter.countDown();
+        }
+
+        assertEquals(HttpStatus.OK, live.get(30, TimeUnit.SECONDS).getStatusCode());
+        List<BatchCheckInResult> results = batch.get(30, TimeUnit.SECONDS).getBody();
+        assertEquals("ALREADY_CHECKED_IN", results.get(0).status());
+        assertEquals("CHECKED_IN", results.get(1).status());
+        assertEquals("CHECKED_IN", results.get(2).status());
+
+        Integer attendanceRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM attendance WHERE event_id = ?", Integer.class, event.getEventId());
+        Integer attendanceStat = jdbcTemplate.queryForObject(
+            "SELECT attendance FROM event_stats WHERE event_id = ?", Integer.class, event.getEventId());
+        assertEquals(3, attendanceRows);
+        assertEquals(3, attendanceStat);
+    }
+
+    private Event createEvent(String eventId, int capacity) {
+        Event event = new Event("Queue Test " + eventId, "Write queue test event", "Workshop",
+            LocalDate.now().plusDays(7), LocalTime.of(10, 0), "Test Hall", capacity,
+            "Test Organizer", "organizer@wku.edu");
+        event.setEventId(eventId);
+        return eventRepository.save(event);
+    }
+
+    private List<Student> createStudents(String course, int count) {
+        List<Student> students = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String name = course.toLowerCase() + i;
+            students.add(new Student("Test", name, name + "@wku.edu", String.format("90000%05d", i),
+                course, 2024, i));
+        }
+        return studentRepository.saveAll(students);
+    }
+
+    private ResponseEntity<RegistrationResponse> register(Student student, Event event) {
+        return registrationController.registerStudent(
+            new RegistrationRequest(student.getStudentId(), event.getEventId()));
+    }
+
+    private int registeredCount(Event event) {
+        return eventRepository.findById(event.getEventId()).orElseThrow().getCurrentRegistrationCount();
+    }
+
+    private int registrationRows(Event event) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM registrations WHERE event_id = ? AND status = 'REGISTERED'",
+            Integer.class, event.getEventId());
+    }
+
+    /**
+     * Occupies the writer thread so the next submits queue up and commit as one batch
+     * @return Latch that lets the writer go
+     */
+    private CountDownLatch blockWriter() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        runAsync(() -> writeQueue.submit(() -> {
+            blocked.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(blocked.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writeQueue.getPendingCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "writes never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> CompletableFuture<T> runAsync(Supplier<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(work.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+}
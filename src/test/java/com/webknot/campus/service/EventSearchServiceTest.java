@@ -0,0 +1,75 @@
+package com.webknot.campus.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webknot.campus.dto.CursorPage;
+import com.webknot.campus.dto.EventSearchHit;
+import com.webknot.campus.entity.Event;
+
+/**
+ * Keyset pages of ranked search results: every match exactly once, in ranking order
+ */
+class EventSearchServiceTest {
+
+    private final EventSearchService searchService = new EventSearchService();
+
+    @BeforeEach
+    void indexEvents() {
+        // Ties on score (same words) are broken by eventId; "workshop" in the name outranks the description
+        for (int i = 0; i < 25; i++) {
+            String name = i % 3 == 0 ? "Cloud Workshop " + i : "Cloud Meetup " + i;
+            Event event = new Event(name, "Hands-on workshop session", "Workshop", LocalDate.of(2025, 10, 1),
+                LocalTime.of(10, 0), "Hall " + (i % 4), 50, "Organizer", "organizer@wku.edu");
+            event.setEventId(String.format("WKUe%04d", i));
+            searchService.index(event);
+        }
+    }
+
+    @Test
+    void pagesWalkEveryMatchOnceInRankingOrder() {
+        List<EventSearchHit> all = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPage<EventSearchHit> page = searchService.search("cloud work", 4, after);
+            all.addAll(page.items());
+            after = page.nextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(25, all.size());
+        assertEquals(7, pages);
+        assertEquals(25, all.stream().map(EventSearchHit::eventId).distinct().count());
+
+        List<EventSearchHit> ranked = new ArrayList<>(all);
+        ranked.sort(Comparator.comparingDouble(EventSearchHit::score).reversed()
+            .thenComparing(EventSearchHit::eventId));
+        assertEquals(ranked, all);
+        // Name matches first
+        assertEquals("WKUe0000", all.get(0).eventId());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<EventSearchHit> page = searchService.search("cloud", 25, null);
+        assertEquals(25, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("cloud", 10, "12"));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("cloud", 10, "high,WKUe0001"));
+    }
+}
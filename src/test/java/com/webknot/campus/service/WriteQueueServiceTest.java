@@ -0,0 +1,209 @@
+package com.webknot.campus.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Group commit, split-and-retry, SQLITE_BUSY backoff and back-pressure of the writer thread, against a
+ * transaction manager that only counts commits and rollbacks
+ */
+class WriteQueueServiceTest {
+
+    private static final class CountingTransactionManager extends AbstractPlatformTransactionManager {
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        protected Object doGetTransaction() { return new Object(); }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) { }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) { commits.incrementAndGet(); }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) { rollbacks.incrementAndGet(); }
+    }
+
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+    private WriteQueueService writeQueue;
+
+    private WriteQueueService startQueue(int capacity, Duration offerTimeout) {
+        WriteQueueService queue = new WriteQueueService();
+        ReflectionTestUtils.setField(queue, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "maxBatch", 64);
+        ReflectionTestUtils.setField(queue, "capacity", capacity);
+        ReflectionTestUtils.setField(queue, "busyRetries", 3);
+        ReflectionTestUtils.setField(queue, "busyBackoffMs", 1L);
+        ReflectionTestUtils.setField(queue, "offerTimeout", offerTimeout);
+        queue.start();
+        return queue;
+    }
+
+    @AfterEach
+    void stopQueue() throws InterruptedException {
+        releaseWriter.countDown();
+        if (writeQueue != null) {
+            writeQueue.stop();
+        }
+    }
+
+    @Test
+    void oneBadWriteInABatchFailsOnlyItsOwnCaller() throws Exception {
+        writeQueue = startQueue(100, Duration.ofSeconds(5));
+        blockWriter();
+
+        // Queued behind the blocked writer, so they are committed as one batch
+        AtomicInteger[] inserts = new AtomicInteger[4];
+        List<CompletableFuture<Integer>> good = new ArrayList<>();
+        for (int i = 0; i < inserts.length; i++) {
+            int value = i;
+            inserts[i] = new AtomicInteger();
+            good.add(submitAsync(() -> writeQueue.submit(() -> {
+                inserts[value].incrementAndGet();
+                return value;
+            }, saved -> { })));
+        }
+        CompletableFuture<Integer> bad = submitAsync(() -> writeQueue.submit(() -> {
+            throw new IllegalStateException("constraint violated");
+        }));
+        awaitPending(5);
+        releaseWriter.countDown();
+
+        for (int i = 0; i < good.size(); i++) {
+            assertEquals(i, good.get(i).get(5, TimeUnit.SECONDS));
+            // Once in the rolled-back batch, once in its own transaction
+            assertEquals(2, inserts[i].get());
+        }
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        assertEquals(1, writeQueue.getSplitBatches());
+        assertEquals(1, writeQueue.getFailedWrites());
+        assertEquals(5, writeQueue.getWrites()); // The blocking write and the four good ones
+        assertEquals(2, transactionManager.rollbacks.get()); // The batch, then the bad write on its own
+    }
+
+    @Test
+    void busyErrorsAreRetriedInANewTransaction() {
+        writeQueue = startQueue(100, Duration.ofSeconds(5));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = writeQueue.submit(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("commit failed",
+                    new SQLException("[SQLITE_BUSY] The database file is locked", null, 5));
+            }
+            return "written";
+        });
+
+        assertEquals("written", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, writeQueue.getBusyRetries());
+        assertEquals(0, writeQueue.getFailedWrites());
+    }
+
+    @Test
+    void busyErrorsGiveUpAfterTheConfiguredRetries() {
+        writeQueue = startQueue(100, Duration.ofSeconds(5));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> writeQueue.submit(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("commit failed",
+                new SQLException("[SQLITE_BUSY] The database file is locked", null, 5));
+        }));
+        assertEquals(4, attempts.get()); // First attempt plus busy-retries
+    }
+
+    @Test
+    void constraintFailuresReachTheCallerAsDataIntegrityViolations() {
+        writeQueue = startQueue(100, Duration.ofSeconds(5));
+
+        assertThrows(DataIntegrityViolationException.class, () -> writeQueue.submit(() -> {
+            throw new IllegalStateException("could not execute batch",
+                new SQLException("[SQLITE_CONSTRAINT_UNIQUE] A UNIQUE constraint failed", null, 19));
+        }));
+    }
+
+    @Test
+    void aFullQueueRejectsWritesWithALockError() throws Exception {
+        writeQueue = startQueue(1, Duration.ofMillis(50));
+        blockWriter();
+
+        CompletableFuture<String> queued = submitAsync(() -> writeQueue.submit(() -> "queued"));
+        awaitPending(1);
+
+        assertThrows(CannotAcquireLockException.class, () -> writeQueue.submit(() -> "rejected"));
+
+        releaseWriter.countDown();
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Occupies the writer thread until releaseWriter opens
+     */
+    private void blockWriter() throws InterruptedException {
+        submitAsync(() -> writeQueue.submit(() -> {
+            writerBlocked.countDown();
+            try {
+                releaseWriter.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writeQueue.getPendingCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "writes never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static <T> CompletableFuture<T> submitAsync(Supplier<T> write) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(write.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return result;
+    }
+}